@@ -0,0 +1,422 @@
+package com.hospital.appointment.availability;
+
+import com.hospital.appointment.dto.TimeSlot;
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.model.AppointmentStatus;
+import com.hospital.appointment.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                       DOCTOR AVAILABILITY INDEX                              ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  "Is this interval free?" and "next free slots" answer from memory,          ║
+ * ║  taking the duration of every booking into account.                          ║
+ * ║                                                                              ║
+ * ║  One calendar per doctor: bookings sorted by start time (TreeSet). An        ║
+ * ║  overlap check is a range scan from (start - longest booking) to end:        ║
+ * ║  O(log n) plus the few bookings of that window.                              ║
+ * ║                                                                              ║
+ * ║  Days are loaded lazily, on the first question about them, with one          ║
+ * ║  query. Create / update / status change / cancel update the loaded           ║
+ * ║  days AFTER each commit (a rolled back change never shows).                  ║
+ * ║                                                                              ║
+ * ║  Each instance keeps its own copy, so writes made through another            ║
+ * ║  instance are missed until the day is reloaded:                              ║
+ * ║    - a loaded day expires after appointment.availability.day-ttl             ║
+ * ║    - a "busy" answer is never trusted: the days of the overlap are           ║
+ * ║      reloaded and checked again (a cancelled booking frees the slot)         ║
+ * ║  A stale "free" answer is caught by the appointments_no_doctor_overlap       ║
+ * ║  constraint when booking; the day is then dropped (invalidate).              ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+@Slf4j
+public class DoctorAvailabilityIndex {
+
+    /** Duration of appointments stored without one (entity default). */
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+
+    /** Statuses that do not hold the doctor's time. */
+    private static final Set<AppointmentStatus> RELEASED = Set.of(AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW);
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final int slotMinutes;
+    private final int searchDays;
+    private final long dayTtlNanos;
+
+    private final Map<Long, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+
+    /** appointment id -> doctor id, for the bookings held in a calendar (a doctor can be changed by an update). */
+    private final Map<Long, Long> doctorByAppointment = new ConcurrentHashMap<>();
+
+    public DoctorAvailabilityIndex(AppointmentRepository appointmentRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${appointment.availability.day-start:08:00}") LocalTime dayStart,
+                                   @Value("${appointment.availability.day-end:18:00}") LocalTime dayEnd,
+                                   @Value("${appointment.availability.slot-minutes:15}") int slotMinutes,
+                                   @Value("${appointment.availability.search-days:30}") int searchDays,
+                                   @Value("${appointment.availability.day-ttl:30s}") Duration dayTtl) {
+        this.appointmentRepository = appointmentRepository;
+        // Joins the caller's transaction if any (no second pooled connection per booking):
+        // callers check availability BEFORE changing an appointment, so a load never sees
+        // an uncommitted change of their own
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.slotMinutes = Math.max(1, slotMinutes);
+        this.searchDays = Math.max(1, searchDays);
+        this.dayTtlNanos = dayTtl.toNanos();
+    }
+
+    /**
+     * Returns true if the doctor has no booking overlapping [start, start + duration).
+     *
+     * @param excludedAppointmentId booking ignored by the check (the one being moved), or null
+     */
+    public boolean isFree(Long doctorId, LocalDateTime start, int durationMinutes, Long excludedAppointmentId) {
+        LocalDateTime end = start.plusMinutes(durationMinutes);
+        DoctorCalendar calendar = calendar(doctorId);
+        synchronized (calendar) {
+            return confirmedOverlap(calendar, start, end, excludedAppointmentId, new HashSet<>()) == null;
+        }
+    }
+
+    /**
+     * Returns the first free slots of the doctor from the given time, within working hours.
+     * Slots start on the slot grid (appointment.availability.slot-minutes) and do not overlap.
+     *
+     * @param from            earliest start
+     * @param durationMinutes length of each slot
+     * @param count           maximum number of slots
+     * @return up to count slots, in time order, within appointment.availability.search-days
+     */
+    public List<TimeSlot> nextFreeSlots(Long doctorId, LocalDateTime from, int durationMinutes, int count) {
+        List<TimeSlot> slots = new ArrayList<>(count);
+        LocalDateTime limit = from.toLocalDate().plusDays(searchDays).atStartOfDay();
+        DoctorCalendar calendar = calendar(doctorId);
+        synchronized (calendar) {
+            Set<LocalDate> reloaded = new HashSet<>();
+            LocalDateTime candidate = alignToGrid(from);
+            while (slots.size() < count && candidate.isBefore(limit)) {
+                LocalDate day = candidate.toLocalDate();
+                if (candidate.toLocalTime().isBefore(dayStart)) {
+                    candidate = day.atTime(dayStart);
+                    continue;
+                }
+                LocalDateTime end = candidate.plusMinutes(durationMinutes);
+                if (end.isAfter(day.atTime(dayEnd))) {
+                    candidate = day.plusDays(1).atTime(dayStart);
+                    continue;
+                }
+                Booking overlap = confirmedOverlap(calendar, candidate, end, null, reloaded);
+                if (overlap == null) {
+                    slots.add(new TimeSlot(candidate, end));
+                    candidate = alignToGrid(end);
+                } else {
+                    // Jump past the booking instead of probing every slot it covers
+                    candidate = alignToGrid(overlap.end());
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Records a booking (or its new time, doctor or status) once the current
+     * transaction commits. Cancelled, no-show and inactive appointments are removed.
+     */
+    public void putAfterCommit(Appointment appointment) {
+        Long id = appointment.getId();
+        Long doctorId = appointment.getDoctorId();
+        boolean holdsTime = holdsTime(appointment);
+        LocalDateTime start = appointment.getAppointmentDateTime();
+        LocalDateTime end = start.plusMinutes(durationOf(appointment));
+        afterCommit(() -> {
+            remove(id);
+            if (holdsTime) {
+                DoctorCalendar calendar = calendar(doctorId);
+                synchronized (calendar) {
+                    // Days not loaded yet will read the row from the database
+                    if (calendar.isLoaded(start.toLocalDate())) {
+                        calendar.add(new Booking(start, end, id));
+                        doctorByAppointment.put(id, doctorId);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Forgets the days of [start, end) of a doctor once the current transaction completes,
+     * commit or rollback: the next question reloads them. Used when the database refused
+     * a booking this index saw as free (written through another instance).
+     */
+    public void invalidateAfterCompletion(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        Runnable invalidate = () -> {
+            DoctorCalendar calendar = calendar(doctorId);
+            synchronized (calendar) {
+                for (LocalDate day : daysOf(start, end)) {
+                    calendar.forgetDay(day).forEach(id -> doctorByAppointment.remove(id, doctorId));
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate.run();
+                }
+            });
+        } else {
+            invalidate.run();
+        }
+    }
+
+    /** Duration of an appointment in minutes, with the entity default when unset. */
+    public static int durationOf(Appointment appointment) {
+        Integer minutes = appointment.getDurationMinutes();
+        return minutes == null ? DEFAULT_DURATION_MINUTES : minutes;
+    }
+
+    private void remove(Long appointmentId) {
+        Long doctorId = doctorByAppointment.remove(appointmentId);
+        if (doctorId != null) {
+            DoctorCalendar calendar = calendar(doctorId);
+            synchronized (calendar) {
+                calendar.remove(appointmentId);
+            }
+        }
+    }
+
+    private DoctorCalendar calendar(Long doctorId) {
+        return calendars.computeIfAbsent(doctorId, DoctorCalendar::new);
+    }
+
+    /**
+     * First booking overlapping [start, end), confirmed by the database: when memory
+     * says busy, the days of the interval are reloaded (once per call, tracked in
+     * reloaded) and checked again. Called with the calendar lock held.
+     */
+    private Booking confirmedOverlap(DoctorCalendar calendar, LocalDateTime start, LocalDateTime end,
+                                     Long excludedId, Set<LocalDate> reloaded) {
+        ensureLoaded(calendar, start, end, reloaded);
+        Booking overlap = calendar.firstOverlap(start, end, excludedId);
+        if (overlap == null) {
+            return null;
+        }
+        boolean reloadedNow = false;
+        for (LocalDate day : daysOf(start, end)) {
+            if (reloaded.add(day)) {
+                load(calendar, day);
+                reloadedNow = true;
+            }
+        }
+        return reloadedNow ? calendar.firstOverlap(start, end, excludedId) : overlap;
+    }
+
+    /**
+     * Loads the days that can hold a booking overlapping [start, end), unless loaded
+     * less than day-ttl ago. Called with the calendar lock held, so a commit of the
+     * same doctor waits for the load and is applied on top of it.
+     */
+    private void ensureLoaded(DoctorCalendar calendar, LocalDateTime start, LocalDateTime end, Set<LocalDate> reloaded) {
+        long now = System.nanoTime();
+        for (LocalDate day : daysOf(start, end)) {
+            if (!calendar.isFresh(day, now, dayTtlNanos)) {
+                load(calendar, day);
+                reloaded.add(day);
+            }
+        }
+    }
+
+    /** The day before start (bookings running past midnight) up to the day of end. */
+    private static List<LocalDate> daysOf(LocalDateTime start, LocalDateTime end) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate last = end.minusNanos(1).toLocalDate();
+        for (LocalDate day = start.toLocalDate().minusDays(1); !day.isAfter(last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    /** (Re)loads one day from the database, replacing what memory held for it. */
+    private void load(DoctorCalendar calendar, LocalDate day) {
+        Long doctorId = calendar.doctorId;
+        calendar.forgetDay(day).forEach(id -> doctorByAppointment.remove(id, doctorId));
+        List<Appointment> bookings = readOnlyTransaction.execute(status ->
+                appointmentRepository.findBookingsStartingBetween(
+                        doctorId, day.atStartOfDay(), day.plusDays(1).atStartOfDay(), RELEASED));
+        for (Appointment appointment : bookings) {
+            calendar.add(new Booking(appointment.getAppointmentDateTime(),
+                    appointment.getAppointmentDateTime().plusMinutes(durationOf(appointment)),
+                    appointment.getId()));
+            doctorByAppointment.put(appointment.getId(), doctorId);
+        }
+        calendar.markLoaded(day, System.nanoTime());
+        if (!day.isBefore(LocalDate.now())) {
+            evictPastDays(calendar);
+        }
+        log.debug("Availability of doctor {} loaded for {}: {} bookings", doctorId, day, bookings.size());
+    }
+
+    /** Days before yesterday are no longer booked: their bookings are dropped when a current day is loaded. */
+    private void evictPastDays(DoctorCalendar calendar) {
+        LocalDate oldest = LocalDate.now().minusDays(1);
+        for (Long id : calendar.evictBefore(oldest)) {
+            doctorByAppointment.remove(id);
+        }
+    }
+
+    /** First slot boundary at or after the given time. */
+    private LocalDateTime alignToGrid(LocalDateTime time) {
+        LocalDateTime midnight = time.toLocalDate().atStartOfDay();
+        long slotNanos = Duration.ofMinutes(slotMinutes).toNanos();
+        long nanos = Duration.between(midnight, time).toNanos();
+        return midnight.plusNanos((nanos + slotNanos - 1) / slotNanos * slotNanos);
+    }
+
+    /** True if an appointment in this status keeps the doctor busy. */
+    public static boolean holdsTime(AppointmentStatus status) {
+        return !RELEASED.contains(status);
+    }
+
+    private static boolean holdsTime(Appointment appointment) {
+        return Boolean.TRUE.equals(appointment.getActive()) && holdsTime(appointment.getStatus());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /** One booked interval [start, end). Ordered by start, then id. */
+    private record Booking(LocalDateTime start, LocalDateTime end, Long id) implements Comparable<Booking> {
+
+        @Override
+        public int compareTo(Booking other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Long.compare(id, other.id);
+        }
+    }
+
+    /** Bookings of one doctor on the loaded days. Guarded by its own monitor. */
+    private static final class DoctorCalendar {
+
+        private final TreeSet<Booking> bookings = new TreeSet<>();
+        private final Map<Long, Booking> byId = new HashMap<>();
+        /** Loaded day -> System.nanoTime() of its load. */
+        private final Map<LocalDate, Long> loadedDays = new HashMap<>();
+
+        /** Longest booking ever added: bounds how far before a start an overlapping booking can begin. */
+        private Duration longest = Duration.ZERO;
+
+        private final Long doctorId;
+
+        DoctorCalendar(Long doctorId) {
+            this.doctorId = doctorId;
+        }
+
+        boolean isLoaded(LocalDate day) {
+            return loadedDays.containsKey(day);
+        }
+
+        boolean isFresh(LocalDate day, long now, long ttlNanos) {
+            Long loadedAt = loadedDays.get(day);
+            return loadedAt != null && now - loadedAt < ttlNanos;
+        }
+
+        void markLoaded(LocalDate day, long now) {
+            loadedDays.put(day, now);
+        }
+
+        /** Drops one day (its bookings and its loaded mark); returns the ids of the dropped bookings. */
+        List<Long> forgetDay(LocalDate day) {
+            loadedDays.remove(day);
+            Booking from = new Booking(day.atStartOfDay(), day.atStartOfDay(), Long.MIN_VALUE);
+            Booking to = new Booking(day.plusDays(1).atStartOfDay(), day.plusDays(1).atStartOfDay(), Long.MIN_VALUE);
+            List<Long> dropped = new ArrayList<>();
+            for (Booking booking : new ArrayList<>(bookings.subSet(from, true, to, false))) {
+                bookings.remove(booking);
+                byId.remove(booking.id());
+                dropped.add(booking.id());
+            }
+            return dropped;
+        }
+
+        void add(Booking booking) {
+            remove(booking.id());
+            bookings.add(booking);
+            byId.put(booking.id(), booking);
+            Duration length = Duration.between(booking.start(), booking.end());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+
+        void remove(Long id) {
+            Booking booking = byId.remove(id);
+            if (booking != null) {
+                bookings.remove(booking);
+            }
+        }
+
+        /** First booking overlapping [start, end), ignoring the excluded id. */
+        Booking firstOverlap(LocalDateTime start, LocalDateTime end, Long excludedId) {
+            Booking from = new Booking(start.minus(longest), start.minus(longest), Long.MIN_VALUE);
+            Booking to = new Booking(end, end, Long.MIN_VALUE);
+            for (Booking booking : bookings.subSet(from, true, to, false)) {
+                if (booking.end().isAfter(start) && !booking.id().equals(excludedId)) {
+                    return booking;
+                }
+            }
+            return null;
+        }
+
+        /** Drops the days before the given one; returns the ids of the dropped bookings. */
+        List<Long> evictBefore(LocalDate oldest) {
+            List<Long> dropped = new ArrayList<>();
+            if (loadedDays.keySet().removeIf(day -> day.isBefore(oldest))) {
+                Booking to = new Booking(oldest.atStartOfDay(), oldest.atStartOfDay(), Long.MIN_VALUE);
+                for (Booking booking : new ArrayList<>(bookings.headSet(to, false))) {
+                    bookings.remove(booking);
+                    byId.remove(booking.id());
+                    dropped.add(booking.id());
+                }
+            }
+            return dropped;
+        }
+    }
+}
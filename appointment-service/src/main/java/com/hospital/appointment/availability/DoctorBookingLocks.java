@@ -0,0 +1,98 @@
+package com.hospital.appointment.availability;
+
+import com.hospital.appointment.exception.InvalidAppointmentException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                          DOCTOR BOOKING LOCKS                                ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Between "is the slot free?" and the commit of the booking, another          ║
+ * ║  request for the same doctor must wait, or both see the slot free.           ║
+ * ║                                                                              ║
+ * ║  A fixed array of locks (stripes); a doctor always maps to the same          ║
+ * ║  stripe. Bookings of doctors on different stripes run in parallel,           ║
+ * ║  and memory does not grow with the number of doctors.                        ║
+ * ║  The lock is held until the transaction completes: the next request          ║
+ * ║  checks availability after the commit (and the index update).                ║
+ * ║                                                                              ║
+ * ║  Only serializes the requests of THIS instance. Across instances, the        ║
+ * ║  appointments_no_doctor_overlap constraint (V4) rejects the second           ║
+ * ║  booking at flush.                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+public class DoctorBookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public DoctorBookingLocks(@Value("${appointment.booking.lock-stripes:64}") int stripeCount,
+                              @Value("${appointment.booking.lock-timeout-ms:5000}") long timeoutMs) {
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        Arrays.setAll(stripes, i -> new ReentrantLock());
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Locks the stripes of the given doctors until the current transaction completes
+     * (commit or rollback). Stripes are taken in index order, so two requests
+     * locking the same doctors cannot deadlock.
+     *
+     * @throws InvalidAppointmentException if a stripe is still busy after the timeout
+     * @throws IllegalStateException       if no transaction is active
+     */
+    public void lockUntilCompletion(Long... doctorIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Doctor booking locks must be taken inside a transaction");
+        }
+        int[] indexes = Arrays.stream(doctorIds)
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int i = 0; i < indexes.length; i++) {
+            ReentrantLock lock = stripes[indexes[i]];
+            if (!tryLock(lock)) {
+                // Release the stripes already taken by this call
+                for (int j = 0; j < i; j++) {
+                    stripes[indexes[j]].unlock();
+                }
+                throw new InvalidAppointmentException("Doctor agenda is busy, please retry");
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int index : indexes) {
+                    stripes[index].unlock();
+                }
+            }
+        });
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int stripeOf(Long doctorId) {
+        // Spread consecutive ids (Long.hashCode keeps them consecutive) before taking the modulo
+        int hash = doctorId.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+}
@@ -1,36 +1,53 @@
 package com.hospital.appointment.client;
 
-import com.hospital.appointment.dto.AuditLogRequest;
-import lombok.RequiredArgsConstructor;
+import com.hospital.appointment.model.AuditOutboxEvent;
+import com.hospital.appointment.repository.AuditOutboxRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+
+/**
+ * Records audit events in the local outbox.
+ * Events are sent to the Audit Service asynchronously by {@link AuditOutboxShipper}.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuditClient {
 
-    private final RestTemplate restTemplate;
+    private final AuditOutboxRepository outboxRepository;
+    private final TransactionTemplate newTransaction;
 
-    @Value("${audit.service.url:http://localhost:8083}")
-    private String auditServiceBaseUrl;
+    public AuditClient(AuditOutboxRepository outboxRepository, PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     public void logAction(String userId, String action, String resourceId, String details, String dataHash) {
-        try {
-            AuditLogRequest request = AuditLogRequest.builder()
-                .userId(userId)
-                .action(action)
-                .resourceId(resourceId)
-                .details(details)
-                .dataHash(dataHash)
-                .build();
-            
-            restTemplate.postForObject(auditServiceBaseUrl + "/audit/log", request, String.class);
-            log.info("Audit log sent successfully for action: {}", action);
-        } catch (Exception e) {
-            log.error("FAILED to send audit log to blockchain service: {}", e.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        AuditOutboxEvent event = AuditOutboxEvent.builder()
+            .userId(userId)
+            .action(action)
+            .resourceId(resourceId)
+            .details(details)
+            .dataHash(dataHash)
+            .createdAt(now)
+            .nextAttemptAt(now)
+            .build();
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Same transaction as the business change: committed or rolled back together
+            outboxRepository.save(event);
+        } else {
+            // Read-only operations (VIEW, SEARCH): nothing to tie the event to
+            newTransaction.executeWithoutResult(status -> outboxRepository.save(event));
         }
+        log.debug("Audit event queued in outbox for action: {}", action);
     }
 }
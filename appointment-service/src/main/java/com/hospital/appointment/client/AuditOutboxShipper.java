@@ -0,0 +1,182 @@
+package com.hospital.appointment.client;
+
+import com.hospital.appointment.dto.AuditLogRequest;
+import com.hospital.appointment.model.AuditOutboxEvent;
+import com.hospital.appointment.model.AuditOutboxStatus;
+import com.hospital.appointment.repository.AuditOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                        AUDIT OUTBOX SHIPPER                                  ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Drains the audit outbox in batches and sends each batch to the Audit        ║
+ * ║  Service in one call (one blockchain transaction). Shipped events are        ║
+ * ║  deleted; failed ones are retried with an exponential backoff, so nothing    ║
+ * ║  is lost while the Audit Service is down.                                    ║
+ * ║                                                                              ║
+ * ║  An event rejected by the Audit Service (4xx on its own) or still failing    ║
+ * ║  after audit.outbox.max-attempts is parked as DEAD: it stops being retried   ║
+ * ║  and no longer breaks up the batches of the events behind it.                ║
+ * ║                                                                              ║
+ * ║  No transaction is open during the HTTP calls: the batch is claimed in a     ║
+ * ║  short one (its events leave the queue for audit.outbox.claim-timeout-ms),   ║
+ * ║  and the outcome is written in a second one (delete / retry / park).         ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditOutboxShipper {
+
+    private final AuditOutboxRepository outboxRepository;
+    private final RestTemplate restTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.service.url:http://localhost:8083}")
+    private String auditServiceBaseUrl;
+
+    /** At most audit.batch.max-size of the Audit Service (50): larger batches are rejected. */
+    @Value("${audit.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${audit.outbox.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${audit.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${audit.outbox.max-attempts:100}")
+    private int maxAttempts;
+
+    /**
+     * Longer than a batch send plus its one-by-one fallback: a claimed event
+     * is only claimed again if this instance stopped before writing the outcome.
+     */
+    @Value("${audit.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${audit.outbox.poll-interval-ms:1000}")
+    public void shipPendingEvents() {
+        List<AuditOutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        List<AuditOutboxEvent> shipped = new ArrayList<>(batch.size());
+        try {
+            // One blockchain transaction for the whole batch (MedicalAudit.logActions)
+            restTemplate.postForObject(auditServiceBaseUrl + "/audit/log/batch",
+                    batch.stream().map(this::toRequest).toList(), String.class);
+            shipped.addAll(batch);
+            log.info("Audit batch of {} event(s) sent successfully", batch.size());
+        } catch (Exception e) {
+            if (isRejection(e)) {
+                // The batch was rejected as a whole: ship one by one so a single bad event does not block the others
+                log.warn("Audit batch rejected ({}), falling back to one-by-one shipping", e.getMessage());
+                shipOneByOne(batch, shipped);
+            } else {
+                // Audit Service is probably down: retry the whole batch later
+                batch.forEach(event -> scheduleRetry(event, e));
+            }
+        }
+
+        List<AuditOutboxEvent> notShipped = new ArrayList<>(batch);
+        notShipped.removeAll(shipped);
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.deleteAllByIdInBatch(shipped.stream().map(AuditOutboxEvent::getId).toList());
+            // Detached since the claim: merged back with their retry / DEAD state
+            outboxRepository.saveAll(notShipped);
+        });
+    }
+
+    /**
+     * Locks the next ready events (SKIP LOCKED) and pushes their next attempt past the
+     * claim timeout, so other runs and instances leave them alone once this transaction commits.
+     */
+    private List<AuditOutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditOutboxEvent> batch = outboxRepository.findReadyToShip(now, PageRequest.of(0, batchSize));
+        LocalDateTime claimedUntil = now.plusNanos(claimTimeoutMs * 1_000_000);
+        batch.forEach(event -> event.setNextAttemptAt(claimedUntil));
+        return batch;
+    }
+
+    private void shipOneByOne(List<AuditOutboxEvent> batch, List<AuditOutboxEvent> shipped) {
+        for (AuditOutboxEvent event : batch) {
+            try {
+                restTemplate.postForObject(auditServiceBaseUrl + "/audit/log", toRequest(event), String.class);
+                shipped.add(event);
+                log.info("Audit log sent successfully for action: {}", event.getAction());
+            } catch (Exception e) {
+                if (isRejection(e)) {
+                    // Rejected on its own (e.g. sensitive data): sending it again cannot succeed
+                    park(event, e);
+                } else {
+                    scheduleRetry(event, e);
+                }
+            }
+        }
+    }
+
+    private void scheduleRetry(AuditOutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            park(event, e);
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plusNanos(backoff * 1_000_000));
+        event.setLastError(truncate(e.getMessage()));
+        log.error("FAILED to send audit log to blockchain service (attempt {}, retry in {} ms): {}",
+                attempts, backoff, e.getMessage());
+    }
+
+    /** 4xx except timeout / rate limiting: the Audit Service refuses this event itself. */
+    private static boolean isRejection(Exception e) {
+        return e instanceof HttpClientErrorException clientError
+                && clientError.getStatusCode() != HttpStatus.REQUEST_TIMEOUT
+                && clientError.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private void park(AuditOutboxEvent event, Exception e) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setStatus(AuditOutboxStatus.DEAD);
+        event.setLastError(truncate(e.getMessage()));
+        log.error("Audit event {} ({}) parked as DEAD after {} attempt(s): {}",
+                event.getId(), event.getAction(), event.getAttempts(), e.getMessage());
+    }
+
+    private AuditLogRequest toRequest(AuditOutboxEvent event) {
+        return AuditLogRequest.builder()
+                .userId(event.getUserId())
+                .action(event.getAction())
+                .resourceId(event.getResourceId())
+                .details(event.getDetails())
+                .dataHash(event.getDataHash())
+                .build();
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
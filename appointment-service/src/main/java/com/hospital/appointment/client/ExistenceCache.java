@@ -0,0 +1,112 @@
+package com.hospital.appointment.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                            EXISTENCE CACHE                                   ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Patients and doctors are almost never deactivated: asking their service     ║
+ * ║  on every booking is a round trip for a known answer.                        ║
+ * ║                                                                              ║
+ * ║  Two bounded Caffeine caches per reference type (patient, staff):            ║
+ * ║    - fresh answers: served instead of the remote call. "Exists" is kept      ║
+ * ║      longer than "does not exist" (an id can be created meanwhile)           ║
+ * ║    - last known answers: kept much longer, only read when the service is     ║
+ * ║      down (Feign fallbacks, ReferenceValidator)                              ║
+ * ║  A deactivation in patient-service / staff-service is stored as "does not    ║
+ * ║  exist" by the instance it notifies (ReferenceCacheController), also as      ║
+ * ║  the last known answer; on the other instances the fresh-answer TTL bounds   ║
+ * ║  how long a stale "exists" is served.                                        ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+@Slf4j
+public class ExistenceCache {
+
+    /** Services whose ids are checked before a booking. */
+    public enum Reference {
+        PATIENT,
+        STAFF
+    }
+
+    private final Map<Reference, Cache<Long, Boolean>> fresh = new EnumMap<>(Reference.class);
+    private final Map<Reference, Cache<Long, Boolean>> lastKnown = new EnumMap<>(Reference.class);
+
+    public ExistenceCache(@Value("${appointment.reference-cache.max-size:100000}") long maxSize,
+                          @Value("${appointment.reference-cache.positive-ttl:10m}") Duration positiveTtl,
+                          @Value("${appointment.reference-cache.negative-ttl:30s}") Duration negativeTtl,
+                          @Value("${appointment.reference-cache.last-known-ttl:24h}") Duration lastKnownTtl) {
+        for (Reference reference : Reference.values()) {
+            fresh.put(reference, Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfter(new ExistenceExpiry(positiveTtl, negativeTtl))
+                    .build());
+            lastKnown.put(reference, Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(lastKnownTtl)
+                    .build());
+        }
+    }
+
+    /**
+     * @return the fresh answer for this id, or null if the service must be asked
+     */
+    public Boolean get(Reference reference, Long id) {
+        return fresh.get(reference).getIfPresent(id);
+    }
+
+    /** Stores an answer of the service. */
+    public void put(Reference reference, Long id, boolean exists) {
+        fresh.get(reference).put(id, exists);
+        lastKnown.get(reference).put(id, exists);
+    }
+
+    /**
+     * Last answer of the service for this id, even if no longer fresh.
+     * Only meant for when the service cannot be reached.
+     */
+    public Optional<Boolean> lastKnown(Reference reference, Long id) {
+        return Optional.ofNullable(lastKnown.get(reference).getIfPresent(id));
+    }
+
+    /**
+     * Records a deactivation as "does not exist". Unlike an eviction, the last
+     * known answer is replaced too: while the service is down, the fallbacks
+     * refuse this id instead of serving its older "exists".
+     */
+    public void markDeactivated(Reference reference, Long id) {
+        put(reference, id, false);
+        log.debug("{} {} marked as deactivated in the existence cache", reference, id);
+    }
+
+    /** "Exists" and "does not exist" answers expire after different delays. */
+    private record ExistenceExpiry(Duration positiveTtl, Duration negativeTtl) implements Expiry<Long, Boolean> {
+
+        @Override
+        public long expireAfterCreate(Long id, Boolean exists, long currentTime) {
+            return (exists ? positiveTtl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
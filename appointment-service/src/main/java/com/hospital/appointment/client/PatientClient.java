@@ -3,6 +3,11 @@ package com.hospital.appointment.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -30,6 +35,13 @@ public interface PatientClient {
     @GetMapping("/api/patients/{id}/exists")
     Boolean checkPatientExists(@PathVariable("id") Long patientId);
 
+    /**
+     * Checks many patients in one call (at most 1000 ids).
+     * WHY: Validating N patient IDs costs one round trip instead of N.
+     */
+    @PostMapping("/api/patients/exists")
+    Map<Long, Boolean> checkPatientsExist(@RequestBody Collection<Long> patientIds);
+
     /**
      * Gets patient details.
      * // Business logic will be added in the specialized subject
@@ -1,8 +1,13 @@
 package com.hospital.appointment.client;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
  * ║                      PATIENT CLIENT FALLBACK                                 ║
@@ -20,16 +25,27 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class PatientClientFallback implements PatientClient {
 
+    private final ExistenceCache existenceCache;
+
     @Override
     public Boolean checkPatientExists(Long patientId) {
         log.warn("Patient Service unavailable. Fallback triggered for patient ID: {}", patientId);
-        // TODO: Implement proper fallback strategy
-        // Option 1: Return cached result
-        // Option 2: Return true and validate later
-        // Option 3: Throw a specific exception
-        return true; // Temporary: assume patient exists
+        // Option 1: Return cached result (last answer of the Patient Service).
+        // null when unknown: ReferenceValidator then applies its degradation rule
+        return existenceCache.lastKnown(ExistenceCache.Reference.PATIENT, patientId).orElse(null);
     }
-}
 
+    @Override
+    public Map<Long, Boolean> checkPatientsExist(Collection<Long> patientIds) {
+        log.warn("Patient Service unavailable. Fallback triggered for {} ids", patientIds.size());
+        // Only the ids with a last known answer; the others are left out (unknown)
+        Map<Long, Boolean> known = new LinkedHashMap<>();
+        for (Long id : patientIds) {
+            existenceCache.lastKnown(ExistenceCache.Reference.PATIENT, id).ifPresent(exists -> known.put(id, exists));
+        }
+        return known;
+    }
+}
@@ -0,0 +1,171 @@
+package com.hospital.appointment.client;
+
+import com.hospital.appointment.client.ExistenceCache.Reference;
+import com.hospital.appointment.exception.InvalidAppointmentException;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                          REFERENCE VALIDATOR                                 ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  A booking needs the patient (Patient Service) and the doctor (Staff         ║
+ * ║  Service) to exist. Called one after the other, the two round trips add      ║
+ * ║  up; started together, the caller waits for the slowest one only, and        ║
+ * ║  can do its own local checks meanwhile.                                      ║
+ * ║                                                                              ║
+ * ║  Both calls share one time budget (appointment.validation.timeout-ms),       ║
+ * ║  counted from the start: a slow dependency cannot hold a booking longer.     ║
+ * ║  The first failure is reported without waiting for the other call.           ║
+ * ║                                                                              ║
+ * ║  Answers come from the ExistenceCache when fresh (no call at all). When      ║
+ * ║  a service is down, its last known answer is used; with none, the id is      ║
+ * ║  assumed to exist (same degradation as the Feign fallbacks).                 ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+@Slf4j
+public class ReferenceValidator {
+
+    private final PatientClient patientClient;
+    private final StaffClient staffClient;
+    private final ExistenceCache existenceCache;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public ReferenceValidator(PatientClient patientClient,
+                              StaffClient staffClient,
+                              ExistenceCache existenceCache,
+                              @Value("${appointment.validation.timeout-ms:3000}") long timeoutMs,
+                              @Value("${appointment.validation.threads:16}") int threads) {
+        this.patientClient = patientClient;
+        this.staffClient = staffClient;
+        this.existenceCache = existenceCache;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        // Bounded queue; when full, the caller runs the check itself (slower, never rejected)
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "reference-check-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts both remote checks and returns at once.
+     * Pass the result to {@link #await} once the local checks are done.
+     */
+    public CompletableFuture<Void> validateAsync(Long patientId, Long doctorId) {
+        CompletableFuture<Void> patientCheck = check(Reference.PATIENT, patientId, () -> patientClient.checkPatientExists(patientId));
+        CompletableFuture<Void> doctorCheck = check(Reference.STAFF, doctorId, () -> staffClient.checkStaffExists(doctorId));
+        CompletableFuture<Void> both = CompletableFuture.allOf(patientCheck, doctorCheck);
+        // Fail fast: the first failure completes the result, whatever the other call does
+        patientCheck.whenComplete((result, failure) -> failIfFailed(both, failure));
+        doctorCheck.whenComplete((result, failure) -> failIfFailed(both, failure));
+        return both.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for the checks started by {@link #validateAsync}.
+     *
+     * @throws InvalidAppointmentException if the patient or the doctor does not exist,
+     *                                     or if the checks did not finish within the budget
+     */
+    public void await(CompletableFuture<Void> checks) {
+        try {
+            checks.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidAppointmentException("Interrupted while validating patient and doctor");
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e.getCause());
+            if (cause instanceof TimeoutException) {
+                log.warn("Patient / doctor validation did not finish within {} ms", timeoutMs);
+                throw new InvalidAppointmentException("Patient and doctor could not be validated in time, please retry");
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Patient / doctor validation failed", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks one id: from the cache if the answer is fresh, otherwise remotely on the pool.
+     */
+    private CompletableFuture<Void> check(Reference reference, Long id, Supplier<Boolean> remoteCall) {
+        Boolean cached = existenceCache.get(reference, id);
+        if (cached != null) {
+            return cached ? CompletableFuture.completedFuture(null) : CompletableFuture.failedFuture(notFound(reference, id));
+        }
+        return CompletableFuture.runAsync(() -> {
+            if (!exists(reference, id, remoteCall)) {
+                throw notFound(reference, id);
+            }
+        }, executor);
+    }
+
+    /**
+     * Asks the service and caches its answer.
+     * Service down (no instance, connection error, 5xx, or an empty answer from a
+     * Feign fallback): last known answer, or "exists" when there is none.
+     */
+    private boolean exists(Reference reference, Long id, Supplier<Boolean> remoteCall) {
+        Boolean exists;
+        try {
+            exists = remoteCall.get();
+        } catch (FeignException e) {
+            if (e.status() >= 400 && e.status() < 500) {
+                throw e;
+            }
+            exists = null;
+        }
+        if (exists == null) {
+            Optional<Boolean> lastKnown = existenceCache.lastKnown(reference, id);
+            log.warn("{} service unavailable: {} {} validated from {}", reference, reference, id,
+                    lastKnown.isPresent() ? "its last known answer" : "nothing (assumed to exist)");
+            return lastKnown.orElse(true);
+        }
+        existenceCache.put(reference, id, exists);
+        return exists;
+    }
+
+    private static InvalidAppointmentException notFound(Reference reference, Long id) {
+        return new InvalidAppointmentException((reference == Reference.PATIENT ? "Patient" : "Doctor") + " not found: " + id);
+    }
+
+    private static void failIfFailed(CompletableFuture<Void> result, Throwable failure) {
+        if (failure != null) {
+            result.completeExceptionally(unwrap(failure));
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
@@ -3,6 +3,12 @@ package com.hospital.appointment.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -22,5 +28,18 @@ public interface StaffClient {
      */
     @GetMapping("/api/staff/{id}/exists")
     Boolean checkStaffExists(@PathVariable("id") Long staffId);
+
+    /**
+     * Checks many staff members in one call (at most 1000 ids).
+     */
+    @PostMapping("/api/staff/exists")
+    Map<Long, Boolean> checkStaffExist(@RequestBody Collection<Long> staffIds);
+
+    /**
+     * Ids of the staff of a department (deactivated staff included).
+     * WHY: Department agenda exports select appointments by doctor id.
+     */
+    @GetMapping("/api/staff/department/{department}/ids")
+    List<Long> getDepartmentStaffIds(@PathVariable("department") String department);
 }
 
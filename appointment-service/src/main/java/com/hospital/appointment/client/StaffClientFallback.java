@@ -1,19 +1,46 @@
 package com.hospital.appointment.client;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Fallback for Staff Service calls.
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class StaffClientFallback implements StaffClient {
 
+    private final ExistenceCache existenceCache;
+
     @Override
     public Boolean checkStaffExists(Long staffId) {
         log.warn("Staff Service unavailable. Fallback triggered for staff ID: {}", staffId);
-        return true;
+        // Last answer of the Staff Service; null when unknown (see ReferenceValidator)
+        return existenceCache.lastKnown(ExistenceCache.Reference.STAFF, staffId).orElse(null);
     }
-}
 
+    @Override
+    public Map<Long, Boolean> checkStaffExist(Collection<Long> staffIds) {
+        log.warn("Staff Service unavailable. Fallback triggered for {} ids", staffIds.size());
+        // Only the ids with a last known answer; the others are left out (unknown)
+        Map<Long, Boolean> known = new LinkedHashMap<>();
+        for (Long id : staffIds) {
+            existenceCache.lastKnown(ExistenceCache.Reference.STAFF, id).ifPresent(exists -> known.put(id, exists));
+        }
+        return known;
+    }
+
+    @Override
+    public List<Long> getDepartmentStaffIds(String department) {
+        log.warn("Staff Service unavailable. Fallback triggered for department: {}", department);
+        // No cached answer: an empty list would export an empty agenda as if it were complete
+        return null;
+    }
+}
@@ -1,19 +1,29 @@
 package com.hospital.appointment.controller;
 
+import com.hospital.common.integrity.IntegrityReport;
 import com.hospital.appointment.dto.AppointmentCreateRequest;
 import com.hospital.appointment.dto.AppointmentDTO;
+import com.hospital.appointment.dto.TimeSlot;
 import com.hospital.appointment.model.AppointmentStatus;
+import com.hospital.appointment.service.AppointmentExportService;
+import com.hospital.appointment.service.AppointmentIntegrityService;
 import com.hospital.appointment.service.AppointmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -37,7 +47,12 @@ import java.util.List;
 @Slf4j
 public class AppointmentController {
 
+    /** Upper bound of the count parameter of /free-slots. */
+    private static final int MAX_FREE_SLOTS = 50;
+
     private final AppointmentService appointmentService;
+    private final AppointmentIntegrityService appointmentIntegrityService;
+    private final AppointmentExportService appointmentExportService;
 
     /**
      * Creates a new appointment.
@@ -98,6 +113,37 @@ public class AppointmentController {
         return ResponseEntity.ok(appointments);
     }
 
+    /**
+     * Tells whether a doctor is free for the whole interval [start, start + duration).
+     */
+    @GetMapping("/doctor/{doctorId}/availability")
+    public ResponseEntity<Boolean> isDoctorAvailable(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(defaultValue = "30") int duration) {
+        log.info("REST request to check availability of doctor {} at {} for {} minutes", doctorId, start, duration);
+        return ResponseEntity.ok(appointmentService.isTimeSlotAvailable(doctorId, start, Math.max(1, duration)));
+    }
+
+    /**
+     * Lists the next free slots of a doctor, within working hours.
+     *
+     * @param from     earliest start (default: now)
+     * @param duration length of each slot in minutes
+     * @param count    number of slots (at most MAX_FREE_SLOTS)
+     */
+    @GetMapping("/doctor/{doctorId}/free-slots")
+    public ResponseEntity<List<TimeSlot>> getFreeSlots(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "5") int count) {
+        log.info("REST request to get free slots of doctor {}", doctorId);
+        LocalDateTime earliest = from != null ? from : LocalDateTime.now();
+        return ResponseEntity.ok(appointmentService.findFreeSlots(doctorId, earliest, Math.max(1, duration),
+                Math.min(Math.max(1, count), MAX_FREE_SLOTS)));
+    }
+
     /**
      * Updates an appointment.
      * This endpoint is mandatory according to the Kit Commun.
@@ -134,5 +180,109 @@ public class AppointmentController {
         appointmentService.cancelAppointment(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    // ═══════════════════════════════════════════════════════════════════════════
+    // AGENDA EXPORTS
+    // Written while read from the database: constant memory whatever the range.
+    // format=ical (text/calendar) or format=ndjson (default, one JSON per line)
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Exports the agenda of a doctor, from and to included.
+     */
+    @GetMapping("/doctor/{doctorId}/export")
+    public ResponseEntity<StreamingResponseBody> exportDoctorAgenda(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("REST request to export agenda of doctor {} from {} to {}", doctorId, from, to);
+        AppointmentExportService.Format exportFormat = exportFormat(format);
+        if (exportFormat == null || to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return export(exportFormat, "doctor-" + doctorId, out -> appointmentExportService.exportDoctors(
+                List.of(doctorId), from, to, exportFormat, "Doctor " + doctorId, out));
+    }
+
+    /**
+     * Exports the agenda of every doctor of a department (Staff Service), from and to included.
+     */
+    @GetMapping("/department/{department}/export")
+    public ResponseEntity<StreamingResponseBody> exportDepartmentAgenda(
+            @PathVariable String department,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("REST request to export agenda of department {} from {} to {}", department, from, to);
+        AppointmentExportService.Format exportFormat = exportFormat(format);
+        if (exportFormat == null || to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Resolved before the response starts, so a Staff Service failure is still an error status
+        List<Long> doctorIds = appointmentExportService.getDepartmentDoctorIds(department);
+        return export(exportFormat, "department-" + department, out -> appointmentExportService.exportDoctors(
+                doctorIds, from, to, exportFormat, "Department " + department, out));
+    }
+
+    /**
+     * Exports the appointments of a patient, from and to included.
+     */
+    @GetMapping("/patient/{patientId}/export")
+    public ResponseEntity<StreamingResponseBody> exportPatientAgenda(
+            @PathVariable Long patientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("REST request to export appointments of patient {} from {} to {}", patientId, from, to);
+        AppointmentExportService.Format exportFormat = exportFormat(format);
+        if (exportFormat == null || to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return export(exportFormat, "patient-" + patientId, out -> appointmentExportService.exportPatient(
+                patientId, from, to, exportFormat, out));
+    }
+
+    /** "ical" / "ics" or "ndjson"; null for anything else. */
+    private static AppointmentExportService.Format exportFormat(String format) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "ical", "ics" -> AppointmentExportService.Format.ICAL;
+            case "ndjson" -> AppointmentExportService.Format.NDJSON;
+            default -> null;
+        };
+    }
+
+    private static ResponseEntity<StreamingResponseBody> export(AppointmentExportService.Format format,
+                                                                String fileName, StreamingResponseBody body) {
+        if (format == AppointmentExportService.Format.NDJSON) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(body);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/calendar;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName + ".ics").build().toString())
+                .body(body);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // INTEGRITY VERIFICATION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Re-verifies every appointment against its stored integrity hash and the
+     * latest hash anchored in the blockchain audit trail.
+     * 
+     * @param chunkSize   rows verified per chunk
+     * @param maxReported maximum number of mismatches listed in the report
+     * @return counters and the first tampered / unanchored rows
+     */
+    @PostMapping("/integrity/verify")
+    public ResponseEntity<IntegrityReport> verifyIntegrity(
+            @RequestParam(defaultValue = "1000") int chunkSize,
+            @RequestParam(defaultValue = "1000") int maxReported) {
+        log.info("REST request to verify appointment integrity");
+        return ResponseEntity.ok(appointmentIntegrityService.verifyAll(Math.max(1, chunkSize), Math.max(0, maxReported)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.hospital.appointment.controller;
+
+import com.hospital.appointment.client.ExistenceCache;
+import com.hospital.appointment.client.ExistenceCache.Reference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                      REFERENCE CACHE REST CONTROLLER                         ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Receives deactivation events: patient-service and staff-service call        ║
+ * ║  these endpoints after committing a deactivation, so that the                ║
+ * ║  ExistenceCache answers "does not exist" for it, even as a fallback.         ║
+ * ║                                                                              ║
+ * ║  Base URL: /api/appointments/reference-cache                                 ║
+ * ║                                                                              ║
+ * ║  // Security will be reinforced in Subject 3 (service-to-service only)       ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@RestController
+@RequestMapping("/api/appointments/reference-cache")
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceCacheController {
+
+    private final ExistenceCache existenceCache;
+
+    /**
+     * Marks a patient as deactivated (in patient-service).
+     */
+    @DeleteMapping("/patients/{id}")
+    public ResponseEntity<Void> evictPatient(@PathVariable Long id) {
+        log.info("REST request to mark patient {} as deactivated in the existence cache", id);
+        existenceCache.markDeactivated(Reference.PATIENT, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Marks a staff member as deactivated (in staff-service).
+     */
+    @DeleteMapping("/staff/{id}")
+    public ResponseEntity<Void> evictStaff(@PathVariable Long id) {
+        log.info("REST request to mark staff {} as deactivated in the existence cache", id);
+        existenceCache.markDeactivated(Reference.STAFF, id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.hospital.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                              TIME SLOT                                       ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  One free interval [start, end) of a doctor, as offered for booking.         ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSlot {
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+}
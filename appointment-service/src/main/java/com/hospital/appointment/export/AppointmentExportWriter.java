@@ -0,0 +1,18 @@
+package com.hospital.appointment.export;
+
+import com.hospital.appointment.dto.AppointmentDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes an agenda export, one appointment at a time, straight to the response.
+ * Implementations keep no appointment once written (constant memory).
+ */
+public interface AppointmentExportWriter {
+
+    /** Writes one appointment (called in time order). */
+    void write(AppointmentDTO appointment) throws IOException;
+
+    /** Writes the trailer, if the format has one, and flushes. */
+    void finish() throws IOException;
+}
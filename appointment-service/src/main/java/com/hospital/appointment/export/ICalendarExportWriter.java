@@ -0,0 +1,129 @@
+package com.hospital.appointment.export;
+
+import com.hospital.appointment.availability.DoctorAvailabilityIndex;
+import com.hospital.appointment.dto.AppointmentDTO;
+import com.hospital.appointment.model.AppointmentType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                       ICALENDAR EXPORT WRITER                                ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Writes an agenda as an iCalendar file (RFC 5545, text/calendar) that        ║
+ * ║  calendar applications can import: one VEVENT per appointment.               ║
+ * ║                                                                              ║
+ * ║  Times are written as "floating" local times (no time zone), like the        ║
+ * ║  LocalDateTime they come from: 09:00 shows as 09:00 wherever it is opened.   ║
+ * ║  Lines are folded at 75 octets and texts escaped, as the RFC requires.       ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public class ICalendarExportWriter implements AppointmentExportWriter {
+
+    /** Longest content line before folding, CRLF excluded (RFC 5545 section 3.1). */
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer out;
+    private final String stamp = ZonedDateTime.now(ZoneOffset.UTC).format(UTC_TIME);
+
+    public ICalendarExportWriter(OutputStream out, String calendarName) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        line("BEGIN", "VCALENDAR");
+        line("VERSION", "2.0");
+        line("PRODID", "-//KitCommun Hospital//Appointment Service//EN");
+        line("CALSCALE", "GREGORIAN");
+        line("METHOD", "PUBLISH");
+        line("X-WR-CALNAME", text(calendarName));
+    }
+
+    @Override
+    public void write(AppointmentDTO appointment) throws IOException {
+        int duration = appointment.getDurationMinutes() != null
+                ? appointment.getDurationMinutes()
+                : DoctorAvailabilityIndex.DEFAULT_DURATION_MINUTES;
+        line("BEGIN", "VEVENT");
+        line("UID", "appointment-" + appointment.getId() + "@hospital-appointment-service");
+        line("DTSTAMP", stamp);
+        line("DTSTART", appointment.getAppointmentDateTime().format(LOCAL_TIME));
+        line("DTEND", appointment.getAppointmentDateTime().plusMinutes(duration).format(LOCAL_TIME));
+        line("SUMMARY", text(label(appointment.getAppointmentType())
+                + " - patient " + appointment.getPatientId() + ", doctor " + appointment.getDoctorId()));
+        if (appointment.getReason() != null && !appointment.getReason().isBlank()) {
+            line("DESCRIPTION", text(appointment.getReason()));
+        }
+        if (appointment.getRoomNumber() != null && !appointment.getRoomNumber().isBlank()) {
+            line("LOCATION", text(appointment.getRoomNumber()));
+        }
+        line("STATUS", status(appointment));
+        line("END", "VEVENT");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        line("END", "VCALENDAR");
+        out.flush();
+    }
+
+    private static String status(AppointmentDTO appointment) {
+        if (appointment.getStatus() == null) {
+            return "TENTATIVE";
+        }
+        return switch (appointment.getStatus()) {
+            case SCHEDULED -> "TENTATIVE";
+            case CANCELLED, NO_SHOW -> "CANCELLED";
+            default -> "CONFIRMED";
+        };
+    }
+
+    /** FOLLOW_UP -> "Follow up". */
+    private static String label(AppointmentType type) {
+        if (type == null) {
+            return "Appointment";
+        }
+        String words = type.name().replace('_', ' ').toLowerCase(Locale.ROOT);
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+
+    /** Escapes a TEXT value (RFC 5545 section 3.3.11). */
+    private static String text(String value) {
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "");
+    }
+
+    /** Writes one content line, folded every 75 octets without splitting a character. */
+    private void line(String name, String value) throws IOException {
+        String line = name + ":" + value;
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int chars = Character.charCount(codePoint);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                // Continuation lines start with one space, which counts in their 75 octets
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(line, i, chars);
+            octets += size;
+            i += chars;
+        }
+        out.write("\r\n");
+    }
+}
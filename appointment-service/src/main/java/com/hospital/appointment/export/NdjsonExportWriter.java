@@ -0,0 +1,33 @@
+package com.hospital.appointment.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.appointment.dto.AppointmentDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * NDJSON export: one AppointmentDTO per line (application/x-ndjson),
+ * the same JSON as the other endpoints.
+ */
+public class NdjsonExportWriter implements AppointmentExportWriter {
+
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void write(AppointmentDTO appointment) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(appointment));
+        out.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,45 @@
+package com.hospital.appointment.integrity;
+
+import com.hospital.appointment.model.Appointment;
+import com.hospital.common.integrity.CanonicalSerializer;
+import com.hospital.common.integrity.IntegrityHasher;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                        APPOINTMENT INTEGRITY                                 ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Canonical field order of an Appointment for its integrity hash.             ║
+ * ║  Timestamps are excluded (set by JPA callbacks after hashing).               ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class AppointmentIntegrity {
+
+    public static final CanonicalSerializer<Appointment> SERIALIZER = (appointment, out) -> out
+            .longValue(appointment.getId())
+            .longValue(appointment.getPatientId())
+            .longValue(appointment.getDoctorId())
+            .dateTime(appointment.getAppointmentDateTime())
+            .intValue(appointment.getDurationMinutes())
+            .enumValue(appointment.getStatus())
+            .enumValue(appointment.getAppointmentType())
+            .string(appointment.getReason())
+            .string(appointment.getNotes())
+            .string(appointment.getRoomNumber())
+            .bool(appointment.getActive());
+
+    private AppointmentIntegrity() {
+    }
+
+    public static String hash(Appointment appointment) {
+        return IntegrityHasher.hash(appointment, SERIALIZER);
+    }
+
+    /**
+     * Hash stored before the canonical format (SHA-256 of the Lombok toString()),
+     * only used to verify the rows written back then.
+     */
+    public static String legacyHash(Appointment appointment) {
+        return IntegrityHasher.legacyHash(appointment);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hospital.appointment.integrity;
+
+import com.hospital.appointment.model.Appointment;
+import com.hospital.common.integrity.IntegrityHashInsertListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Computes the integrity hash of a new Appointment right before its INSERT (id assigned),
+ * so the row is inserted with its hash, without a follow-up UPDATE.
+ */
+@Configuration
+public class AppointmentIntegrityConfig {
+
+    @Bean
+    public IntegrityHashInsertListener<Appointment> integrityHashInsertListener(EntityManagerFactory entityManagerFactory) {
+        return new IntegrityHashInsertListener<>(Appointment.class, "integrityHash",
+                AppointmentIntegrity.SERIALIZER, Appointment::setIntegrityHash)
+                .register(entityManagerFactory);
+    }
+}
@@ -31,8 +31,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Appointment {
 
+    /**
+     * Unique identifier for the appointment.
+     * WHY SEQUENCE (pooled by 50): the ID is known before the INSERT, so the
+     * integrity hash is stored by a single INSERT and creates can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -0,0 +1,21 @@
+package com.hospital.appointment.model;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                      AUDIT OUTBOX STATUS ENUMERATION                         ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS ENUM EXISTS:                                                       ║
+ * ║  Separates the events still to ship from the ones given up on.               ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public enum AuditOutboxStatus {
+    /**
+     * Waiting to be shipped (first attempt or retry).
+     */
+    PENDING,
+
+    /**
+     * Rejected by the Audit Service (4xx) or out of attempts: never polled again.
+     */
+    DEAD
+}
@@ -0,0 +1,63 @@
+package com.hospital.appointment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                     DOCTOR DAY SCHEDULE ENTITY                               ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Read model of the doctor day view: the day's appointments, already          ║
+ * ║  filtered, sorted and mapped, stored as one JSON array per doctor and day.   ║
+ * ║  Reading a day is one primary-key lookup, whatever the size of the           ║
+ * ║  appointments table.                                                         ║
+ * ║                                                                              ║
+ * ║  Never edited directly: DoctorDaySchedules rebuilds the row in the           ║
+ * ║  transaction of every appointment write.                                     ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Entity
+@Table(name = "doctor_day_schedules")
+@IdClass(DoctorDaySchedule.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorDaySchedule {
+
+    @Id
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Id
+    @Column(name = "schedule_date", nullable = false)
+    private LocalDate scheduleDate;
+
+    /**
+     * The day view as a JSON array of AppointmentDTO.
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String entries;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Primary key: one schedule per doctor and day.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long doctorId;
+        private LocalDate scheduleDate;
+    }
+}
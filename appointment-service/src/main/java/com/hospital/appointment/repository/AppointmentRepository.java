@@ -2,13 +2,19 @@ package com.hospital.appointment.repository;
 
 import com.hospital.appointment.model.Appointment;
 import com.hospital.appointment.model.AppointmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -24,6 +30,9 @@ import java.util.List;
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    /** Rows fetched per round trip by the export cursors (PostgreSQL streams only inside a transaction). */
+    String EXPORT_FETCH_SIZE = "500";
+
     /**
      * Finds all appointments for a patient (Only Active).
      * Modified for Subject 1: Traçabilité.
@@ -60,15 +69,17 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             Long patientId, LocalDateTime start, LocalDateTime end);
 
     /**
-     * Checks for conflicting appointments.
-     * // Business logic will be added in the specialized subject
+     * Active bookings of a doctor starting in [start, end), excluding the given statuses.
+     * WHY: Loads one day of the DoctorAvailabilityIndex (index on doctor_id, appointment_date_time).
      */
     @Query("SELECT a FROM Appointment a WHERE a.doctorId = :doctorId " +
-           "AND a.appointmentDateTime = :dateTime " +
-           "AND a.status = 'SCHEDULED'")
-    List<Appointment> findConflictingAppointments(
+           "AND a.appointmentDateTime >= :start AND a.appointmentDateTime < :end " +
+           "AND a.active = true AND a.status NOT IN :excludedStatuses")
+    List<Appointment> findBookingsStartingBetween(
             @Param("doctorId") Long doctorId,
-            @Param("dateTime") LocalDateTime dateTime);
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("excludedStatuses") Collection<AppointmentStatus> excludedStatuses);
 
     /**
      * Finds upcoming appointments for a patient.
@@ -80,5 +91,43 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findUpcomingAppointments(
             @Param("patientId") Long patientId,
             @Param("now") LocalDateTime now);
-}
 
+    /**
+     * Keyset chunk: the next appointments after the given id, in id order.
+     * WHY: Constant cost per chunk for full-table scans (integrity verification).
+     */
+    List<Appointment> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Active appointments of the given doctors starting in [start, end), in time order.
+     * WHY: Agenda exports. Read through a database cursor, EXPORT_FETCH_SIZE rows at a
+     * time; the caller must close the stream and stay in a transaction while reading it.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Appointment a WHERE a.doctorId IN :doctorIds " +
+           "AND a.appointmentDateTime >= :start AND a.appointmentDateTime < :end " +
+           "AND a.active = true ORDER BY a.appointmentDateTime, a.id")
+    Stream<Appointment> streamDoctorsAppointments(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Active appointments of a patient starting in [start, end), in time order.
+     * Same cursor rules as streamDoctorsAppointments.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Appointment a WHERE a.patientId = :patientId " +
+           "AND a.appointmentDateTime >= :start AND a.appointmentDateTime < :end " +
+           "AND a.active = true ORDER BY a.appointmentDateTime, a.id")
+    Stream<Appointment> streamPatientAppointments(
+            @Param("patientId") Long patientId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+}
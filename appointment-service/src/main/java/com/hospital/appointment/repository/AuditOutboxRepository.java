@@ -0,0 +1,33 @@
+package com.hospital.appointment.repository;
+
+import com.hospital.appointment.model.AuditOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data access for the audit outbox table.
+ */
+@Repository
+public interface AuditOutboxRepository extends JpaRepository<AuditOutboxEvent, Long> {
+
+    /**
+     * Loads the next batch of PENDING events ready to be shipped, oldest first.
+     * WHY SKIP LOCKED (lock timeout -2): several service instances can drain
+     * the outbox concurrently without shipping the same event twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM AuditOutboxEvent e WHERE e.status = com.hospital.appointment.model.AuditOutboxStatus.PENDING"
+            + " AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<AuditOutboxEvent> findReadyToShip(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.hospital.appointment.repository;
+
+import com.hospital.appointment.model.DoctorDaySchedule;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Data access for the doctor day-schedule read model.
+ */
+@Repository
+public interface DoctorDayScheduleRepository extends JpaRepository<DoctorDaySchedule, DoctorDaySchedule.Key> {
+
+    /**
+     * Inserts the schedule unless the day already has one.
+     * WHY: Concurrent first writers / readers of a day must not fail on the primary key.
+     *
+     * @return 1 if inserted, 0 if the day already had a schedule
+     */
+    @Modifying
+    @Query(value = "INSERT INTO doctor_day_schedules (doctor_id, schedule_date, entries, updated_at) " +
+                   "VALUES (:doctorId, :scheduleDate, :entries, :updatedAt) " +
+                   "ON CONFLICT (doctor_id, schedule_date) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("doctorId") Long doctorId,
+                       @Param("scheduleDate") LocalDate scheduleDate,
+                       @Param("entries") String entries,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Locks the schedule of a day until the end of the transaction.
+     * WHY: Two writers of the same day rebuild it one after the other, the
+     * second one seeing the appointments committed by the first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DoctorDaySchedule s WHERE s.doctorId = :doctorId AND s.scheduleDate = :scheduleDate")
+    Optional<DoctorDaySchedule> lockDay(@Param("doctorId") Long doctorId, @Param("scheduleDate") LocalDate scheduleDate);
+}
@@ -0,0 +1,176 @@
+package com.hospital.appointment.schedule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hospital.appointment.dto.AppointmentDTO;
+import com.hospital.appointment.mapper.AppointmentMapper;
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.model.AppointmentStatus;
+import com.hospital.appointment.model.DoctorDaySchedule;
+import com.hospital.appointment.repository.AppointmentRepository;
+import com.hospital.appointment.repository.DoctorDayScheduleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                         DOCTOR DAY SCHEDULES                                 ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  The doctor day view is the most read page of the clinic screens. It is      ║
+ * ║  computed when appointments are written, not each time it is read.           ║
+ * ║                                                                              ║
+ * ║  Two tiers, both holding the finished list of AppointmentDTO:                ║
+ * ║    - memory: bounded Caffeine cache of recent days                           ║
+ * ║    - doctor_day_schedules (V5): one JSON row per doctor and day              ║
+ * ║  Every appointment write rebuilds its day(s) in the same transaction,        ║
+ * ║  under a row lock on the schedule (so the row never misses a committed       ║
+ * ║  write), and puts the result in memory after the commit.                     ║
+ * ║                                                                              ║
+ * ║  Writes made through another instance reach this one's memory after          ║
+ * ║  appointment.day-schedule.expire-after-write (the table is always exact).    ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+@Slf4j
+public class DoctorDaySchedules {
+
+    private static final TypeReference<List<AppointmentDTO>> ENTRIES = new TypeReference<>() {};
+
+    /** Lock order of the days rebuilt by one transaction (no deadlock between two writers). */
+    private static final Comparator<DoctorDaySchedule.Key> DAY_ORDER =
+            Comparator.comparing(DoctorDaySchedule.Key::getDoctorId).thenComparing(DoctorDaySchedule.Key::getScheduleDate);
+
+    /** Left out of the day view (the range query skips them too; kept here so the view never depends on it). */
+    private static final Set<AppointmentStatus> HIDDEN_STATUSES = EnumSet.of(AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW);
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorDayScheduleRepository scheduleRepository;
+    private final AppointmentMapper appointmentMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final Cache<DoctorDaySchedule.Key, List<AppointmentDTO>> days;
+
+    public DoctorDaySchedules(AppointmentRepository appointmentRepository,
+                              DoctorDayScheduleRepository scheduleRepository,
+                              AppointmentMapper appointmentMapper,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${appointment.day-schedule.max-days:10000}") long maxDays,
+                              @Value("${appointment.day-schedule.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.appointmentRepository = appointmentRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.appointmentMapper = appointmentMapper;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /** The schedule row holding this appointment. */
+    public static DoctorDaySchedule.Key dayOf(Appointment appointment) {
+        return new DoctorDaySchedule.Key(appointment.getDoctorId(), appointment.getAppointmentDateTime().toLocalDate());
+    }
+
+    /**
+     * Day view of a doctor: active, not cancelled / no-show appointments, in time order.
+     * From memory, else from its schedule row, else built from the appointments
+     * (a day not written since V5). Reads never write: the row of such a day is
+     * created by its next appointment write. The list is shared: do not modify it.
+     */
+    public List<AppointmentDTO> get(Long doctorId, LocalDate date) {
+        return days.get(new DoctorDaySchedule.Key(doctorId, date), this::load);
+    }
+
+    /**
+     * Rebuilds the schedules of the given days in the current transaction.
+     * Call after the appointment changes of the transaction (they are flushed
+     * by the appointment query); pass both the old and new day of a moved appointment.
+     *
+     * @throws IllegalStateException if no transaction is active
+     */
+    public void rebuild(DoctorDaySchedule.Key... changedDays) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Day schedules must be rebuilt inside the appointment transaction");
+        }
+        Map<DoctorDaySchedule.Key, List<AppointmentDTO>> rebuilt = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (DoctorDaySchedule.Key key : Arrays.stream(changedDays).distinct().sorted(DAY_ORDER).toList()) {
+            scheduleRepository.insertIfAbsent(key.getDoctorId(), key.getScheduleDate(), "[]", now);
+            // READ COMMITTED: the appointment query below starts after the lock is granted,
+            // so it sees what the previous writer of this day committed
+            DoctorDaySchedule schedule = scheduleRepository.lockDay(key.getDoctorId(), key.getScheduleDate())
+                    .orElseThrow(() -> new IllegalStateException("Day schedule not found after insert: " + key));
+            List<AppointmentDTO> entries = build(key);
+            schedule.setEntries(write(entries));
+            schedule.setUpdatedAt(now);
+            rebuilt.put(key, entries);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Waits for a concurrent load of the same day, then replaces its (older) result
+                days.putAll(rebuilt);
+            }
+        });
+        log.debug("Day schedules rebuilt: {}", rebuilt.keySet());
+    }
+
+    private List<AppointmentDTO> load(DoctorDaySchedule.Key key) {
+        // Read-only: a missing day is built in memory, no insert and no row lock on the read path
+        return readOnly.execute(status -> scheduleRepository.findById(key)
+                .map(stored -> read(stored.getEntries()))
+                .orElseGet(() -> build(key)));
+    }
+
+    private List<AppointmentDTO> build(DoctorDaySchedule.Key key) {
+        LocalDate date = key.getScheduleDate();
+        return appointmentRepository.findDoctorAppointmentsInRange(key.getDoctorId(), date.atStartOfDay(), date.atTime(LocalTime.MAX))
+                .stream()
+                .filter(appointment -> Boolean.TRUE.equals(appointment.getActive()))
+                .filter(appointment -> !HIDDEN_STATUSES.contains(appointment.getStatus()))
+                .sorted(Comparator.comparing(Appointment::getAppointmentDateTime).thenComparing(Appointment::getId))
+                .map(appointmentMapper::toDTO)
+                .toList();
+    }
+
+    private String write(List<AppointmentDTO> entries) {
+        try {
+            return objectMapper.writeValueAsString(entries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Day schedule could not be serialized", e);
+        }
+    }
+
+    private List<AppointmentDTO> read(String entries) {
+        try {
+            return List.copyOf(Objects.requireNonNull(objectMapper.readValue(entries, ENTRIES)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Day schedule could not be read", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.hospital.appointment.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                   APPOINTMENT EXPORT SERVICE INTERFACE                       ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS INTERFACE EXISTS:                                                  ║
+ * ║  Exports the agenda of doctors, departments or patients over any date        ║
+ * ║  range (a year of a busy department included), written to the response       ║
+ * ║  while it is read from the database: memory does not grow with the range.    ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public interface AppointmentExportService {
+
+    /** Export file formats. */
+    enum Format {
+        /** iCalendar (text/calendar), importable in calendar applications. */
+        ICAL,
+        /** One AppointmentDTO JSON per line (application/x-ndjson). */
+        NDJSON
+    }
+
+    /**
+     * Resolves a department to the ids of its staff (Staff Service).
+     * Call it before the export starts: a failure can still be reported as an error status.
+     *
+     * @throws IllegalStateException if the Staff Service cannot answer
+     */
+    List<Long> getDepartmentDoctorIds(String department);
+
+    /**
+     * Writes the active appointments of the given doctors from {@code from} to {@code to}
+     * (both days included), in time order.
+     *
+     * @param calendarName name shown by calendar applications (iCal only)
+     */
+    void exportDoctors(Collection<Long> doctorIds, LocalDate from, LocalDate to,
+                       Format format, String calendarName, OutputStream out) throws IOException;
+
+    /**
+     * Writes the active appointments of a patient from {@code from} to {@code to}
+     * (both days included), in time order.
+     */
+    void exportPatient(Long patientId, LocalDate from, LocalDate to,
+                       Format format, OutputStream out) throws IOException;
+}
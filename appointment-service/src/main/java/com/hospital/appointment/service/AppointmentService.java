@@ -2,9 +2,11 @@ package com.hospital.appointment.service;
 
 import com.hospital.appointment.dto.AppointmentCreateRequest;
 import com.hospital.appointment.dto.AppointmentDTO;
+import com.hospital.appointment.dto.TimeSlot;
 import com.hospital.appointment.model.AppointmentStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,8 +45,8 @@ public interface AppointmentService {
     List<AppointmentDTO> getAppointmentsByDoctor(Long doctorId);
 
     /**
-     * Retrieves appointments for a doctor on a specific date.
-     * // Business logic will be added in the specialized subject
+     * Retrieves appointments for a doctor on a specific date, in time order.
+     * Served from the day-schedule read model (DoctorDaySchedules).
      */
     List<AppointmentDTO> getDoctorAppointmentsForDate(Long doctorId, LocalDate date);
 
@@ -65,9 +67,18 @@ public interface AppointmentService {
     void cancelAppointment(Long id);
 
     /**
-     * Checks if a time slot is available for a doctor.
-     * // Business logic will be added in the specialized subject
+     * Checks if a time slot is available for a doctor:
+     * no active booking overlaps [dateTime, dateTime + durationMinutes).
      */
-    boolean isTimeSlotAvailable(Long doctorId, java.time.LocalDateTime dateTime);
+    boolean isTimeSlotAvailable(Long doctorId, LocalDateTime dateTime, int durationMinutes);
+
+    /**
+     * Returns the next free slots of a doctor, within working hours.
+     *
+     * @param from            earliest start
+     * @param durationMinutes length of each slot
+     * @param count           maximum number of slots
+     */
+    List<TimeSlot> findFreeSlots(Long doctorId, LocalDateTime from, int durationMinutes, int count);
 }
 
@@ -0,0 +1,100 @@
+package com.hospital.appointment.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.appointment.client.StaffClient;
+import com.hospital.appointment.export.AppointmentExportWriter;
+import com.hospital.appointment.export.ICalendarExportWriter;
+import com.hospital.appointment.export.NdjsonExportWriter;
+import com.hospital.appointment.mapper.AppointmentMapper;
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.repository.AppointmentRepository;
+import com.hospital.appointment.service.AppointmentExportService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                    APPOINTMENT EXPORT SERVICE IMPL                           ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Reads the range through one database cursor (JPA Stream, fetched            ║
+ * ║  EXPORT_FETCH_SIZE rows at a time) and writes each appointment as soon as    ║
+ * ║  it is read. Once written, the entity is detached: the persistence           ║
+ * ║  context does not grow with the export.                                      ║
+ * ║                                                                              ║
+ * ║  The cursor needs its transaction (and connection) for the whole export:     ║
+ * ║  a slow client holds one pooled connection meanwhile.                        ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentExportServiceImpl implements AppointmentExportService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentMapper appointmentMapper;
+    private final StaffClient staffClient;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> getDepartmentDoctorIds(String department) {
+        List<Long> staffIds = staffClient.getDepartmentStaffIds(department);
+        if (staffIds == null) {
+            throw new IllegalStateException("Staff Service unavailable: department " + department + " cannot be resolved");
+        }
+        return staffIds;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportDoctors(Collection<Long> doctorIds, LocalDate from, LocalDate to,
+                              Format format, String calendarName, OutputStream out) throws IOException {
+        log.info("Exporting appointments of {} doctor(s) from {} to {} as {}", doctorIds.size(), from, to, format);
+        Stream<Appointment> appointments = doctorIds.isEmpty()
+                ? Stream.empty()
+                : appointmentRepository.streamDoctorsAppointments(doctorIds, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        write(appointments, writer(format, calendarName, out));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPatient(Long patientId, LocalDate from, LocalDate to,
+                              Format format, OutputStream out) throws IOException {
+        log.info("Exporting appointments of patient {} from {} to {} as {}", patientId, from, to, format);
+        write(appointmentRepository.streamPatientAppointments(patientId, from.atStartOfDay(), to.plusDays(1).atStartOfDay()),
+                writer(format, "Patient " + patientId, out));
+    }
+
+    private AppointmentExportWriter writer(Format format, String calendarName, OutputStream out) throws IOException {
+        return format == Format.ICAL
+                ? new ICalendarExportWriter(out, calendarName)
+                : new NdjsonExportWriter(out, objectMapper);
+    }
+
+    private void write(Stream<Appointment> appointments, AppointmentExportWriter writer) throws IOException {
+        long written = 0;
+        try (appointments) {
+            Iterator<Appointment> cursor = appointments.iterator();
+            while (cursor.hasNext()) {
+                Appointment appointment = cursor.next();
+                writer.write(appointmentMapper.toDTO(appointment));
+                entityManager.detach(appointment);
+                written++;
+            }
+        }
+        writer.finish();
+        log.info("Export done: {} appointments written", written);
+    }
+}
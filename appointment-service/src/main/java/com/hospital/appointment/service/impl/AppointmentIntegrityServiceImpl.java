@@ -0,0 +1,50 @@
+package com.hospital.appointment.service.impl;
+
+import com.hospital.appointment.client.AuditTrailClient;
+import com.hospital.appointment.integrity.AppointmentIntegrity;
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.repository.AppointmentRepository;
+import com.hospital.appointment.service.AppointmentIntegrityService;
+import com.hospital.common.integrity.IntegrityReport;
+import com.hospital.common.integrity.TableIntegrityCheck;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                      APPOINTMENT INTEGRITY SERVICE IMPL                      ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Declares how the appointments table is read, hashed and looked up on chain; ║
+ * ║  the scan itself is the shared TableIntegrityCheck.                          ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Service
+public class AppointmentIntegrityServiceImpl implements AppointmentIntegrityService {
+
+    /** Audit actions that carry the integrity hash of an appointment. */
+    private static final List<String> HASHED_ACTIONS = List.of(
+            "CREATE_APPOINTMENT",
+            "UPDATE_APPOINTMENT",
+            "UPDATE_APPOINTMENT_STATUS",
+            "CANCEL_APPOINTMENT");
+
+    private final TableIntegrityCheck<Appointment> check;
+
+    public AppointmentIntegrityServiceImpl(AppointmentRepository appointmentRepository, AuditTrailClient auditTrailClient) {
+        this.check = new TableIntegrityCheck<>("appointments",
+                (afterId, chunkSize) -> appointmentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, chunkSize)),
+                Appointment::getId,
+                AppointmentIntegrity.SERIALIZER,
+                Appointment::getIntegrityHash,
+                AppointmentIntegrity::legacyHash,
+                ids -> auditTrailClient.latestHashes(ids, HASHED_ACTIONS));
+    }
+
+    @Override
+    public IntegrityReport verifyAll(int chunkSize, int maxReported) {
+        return check.verifyAll(chunkSize, maxReported);
+    }
+}
@@ -1,27 +1,35 @@
 package com.hospital.appointment.service.impl;
 
+import com.hospital.appointment.availability.DoctorAvailabilityIndex;
+import com.hospital.appointment.availability.DoctorBookingLocks;
 import com.hospital.appointment.client.AuditClient;
-import com.hospital.appointment.client.PatientClient;
-import com.hospital.appointment.client.StaffClient;
+import com.hospital.appointment.client.ReferenceValidator;
 import com.hospital.appointment.dto.AppointmentCreateRequest;
 import com.hospital.appointment.dto.AppointmentDTO;
+import com.hospital.appointment.dto.TimeSlot;
 import com.hospital.appointment.exception.AppointmentNotFoundException;
 import com.hospital.appointment.exception.InvalidAppointmentException;
 import com.hospital.appointment.mapper.AppointmentMapper;
+import com.hospital.appointment.integrity.AppointmentIntegrity;
 import com.hospital.appointment.model.Appointment;
 import com.hospital.appointment.model.AppointmentStatus;
+import com.hospital.appointment.model.DoctorDaySchedule;
 import com.hospital.appointment.repository.AppointmentRepository;
+import com.hospital.appointment.schedule.DoctorDaySchedules;
 import com.hospital.appointment.service.AppointmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -32,7 +40,8 @@ import java.util.stream.Collectors;
  * ║  Implements the business logic for appointment operations.                   ║
  * ║                                                                              ║
  * ║  INTER-SERVICE COMMUNICATION:                                                ║
- * ║  Uses Feign clients to validate patient/doctor IDs with other services.      ║
+ * ║  Validates patient/doctor IDs with the other services, concurrently          ║
+ * ║  (ReferenceValidator over the Feign clients).                                ║
  * ║                                                                              ║
  * ║  // Business logic will be added in the specialized subject                  ║
  * ╚══════════════════════════════════════════════════════════════════════════════╝
@@ -43,11 +52,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AppointmentServiceImpl implements AppointmentService {
 
+    /** Exclusion constraint on overlapping bookings (db/migration/V4__no_overlapping_bookings.sql). */
+    private static final String NO_OVERLAP_CONSTRAINT = "appointments_no_doctor_overlap";
+
     private final AppointmentRepository appointmentRepository;
     private final AppointmentMapper appointmentMapper;
-    private final PatientClient patientClient;
-    private final StaffClient staffClient;
+    private final ReferenceValidator referenceValidator;
     private final AuditClient auditClient;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final DoctorBookingLocks bookingLocks;
+    private final DoctorDaySchedules daySchedules;
 
     @Override
     public AppointmentDTO createAppointment(AppointmentCreateRequest request) {
@@ -56,32 +70,48 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         // ═══════════════════════════════════════════════════════════════════════
         // VALIDATE REFERENCES (Inter-service communication)
-        // // Business logic will be added in the specialized subject
+        // Patient and doctor are checked concurrently, while the availability
+        // pre-check (which may load the day from the database) runs here
         // ═══════════════════════════════════════════════════════════════════════
-        validatePatientExists(request.getPatientId());
-        validateDoctorExists(request.getDoctorId());
+        CompletableFuture<Void> referenceChecks =
+                referenceValidator.validateAsync(request.getPatientId(), request.getDoctorId());
 
-        // Check for time slot availability
-        // // Business logic will be added in the specialized subject
-        if (!isTimeSlotAvailable(request.getDoctorId(), request.getAppointmentDateTime())) {
+        Appointment appointment = appointmentMapper.toEntity(request);
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        Long doctorId = appointment.getDoctorId();
+        LocalDateTime start = appointment.getAppointmentDateTime();
+        int duration = DoctorAvailabilityIndex.durationOf(appointment);
+
+        // Check for time slot availability (whole duration, not just the start time).
+        // A "busy" answer is confirmed against the database (DoctorAvailabilityIndex)
+        if (!availabilityIndex.isFree(doctorId, start, duration, null)) {
             throw new InvalidAppointmentException("Time slot is not available");
         }
+        referenceValidator.await(referenceChecks);
 
-        Appointment appointment = appointmentMapper.toEntity(request);
-        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        // Final check under the doctor's lock, held until commit: a concurrent booking of
+        // this instance checks after this one is stored. Other instances: the constraint decides
+        bookingLocks.lockUntilCompletion(doctorId);
+        if (!availabilityIndex.isFree(doctorId, start, duration, null)) {
+            throw new InvalidAppointmentException("Time slot is not available");
+        }
 
+        // ID comes from the pooled sequence: no INSERT yet
         Appointment savedAppointment = appointmentRepository.save(appointment);
         log.info("Appointment created with ID: {}", savedAppointment.getId());
 
-        // Compute and store integrity hash (ID is now available)
-        String integrityHash = computeDataHash(savedAppointment);
-        savedAppointment.setIntegrityHash(integrityHash);
-        savedAppointment = appointmentRepository.save(savedAppointment);
+        // Before the audit event: its IDENTITY insert would flush the booking outside flushBooking.
+        // The integrity hash is computed right before the INSERT (AppointmentIntegrityConfig):
+        // the row is written once, hash included
+        flushBooking(savedAppointment);
+        String integrityHash = savedAppointment.getIntegrityHash();
 
         // Audit logging
         auditClient.logAction(getCurrentUserId(), "CREATE_APPOINTMENT", savedAppointment.getId().toString(), 
             "Appointment created for patient " + request.getPatientId() + " with doctor " + request.getDoctorId(),
             integrityHash);
+        daySchedules.rebuild(DoctorDaySchedules.dayOf(savedAppointment));
+        availabilityIndex.putAfterCommit(savedAppointment);
 
         return appointmentMapper.toDTO(savedAppointment);
     }
@@ -117,17 +147,11 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<AppointmentDTO> getDoctorAppointmentsForDate(Long doctorId, LocalDate date) {
         log.debug("Fetching appointments for doctor {} on date {}", doctorId, date);
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        return appointmentRepository.findDoctorAppointmentsInRange(doctorId, startOfDay, endOfDay)
-                .stream()
-                .filter(Appointment::getActive) // Logic Layer Filtering for strict compliance
-                .map(appointmentMapper::toDTO)
-                .collect(Collectors.toList());
+        // Precomputed at each write (active appointments only): no scan, no mapping here
+        return daySchedules.get(doctorId, date);
     }
 
     @Override
@@ -142,18 +166,35 @@ public class AppointmentServiceImpl implements AppointmentService {
              throw new AppointmentNotFoundException("Appointment record is inactive (deleted): " + id);
         }
 
+        // Moved, lengthened, given to another doctor or re-opened: the new interval must be free.
+        // Checked before the entity changes (see DoctorAvailabilityIndex)
+        Long doctorId = Objects.requireNonNullElse(appointmentDTO.getDoctorId(), existingAppointment.getDoctorId());
+        LocalDateTime start = Objects.requireNonNullElse(appointmentDTO.getAppointmentDateTime(), existingAppointment.getAppointmentDateTime());
+        int duration = appointmentDTO.getDurationMinutes() != null
+                ? appointmentDTO.getDurationMinutes()
+                : DoctorAvailabilityIndex.durationOf(existingAppointment);
+        AppointmentStatus status = Objects.requireNonNullElse(appointmentDTO.getStatus(), existingAppointment.getStatus());
+        DoctorDaySchedule.Key previousDay = DoctorDaySchedules.dayOf(existingAppointment);
+        bookingLocks.lockUntilCompletion(existingAppointment.getDoctorId(), doctorId);
+        if (DoctorAvailabilityIndex.holdsTime(status) && !availabilityIndex.isFree(doctorId, start, duration, id)) {
+            throw new InvalidAppointmentException("Time slot is not available");
+        }
+
         appointmentMapper.updateEntityFromDTO(appointmentDTO, existingAppointment);
         
         // Compute and store integrity hash
-        String integrityHash = computeDataHash(existingAppointment);
+        String integrityHash = AppointmentIntegrity.hash(existingAppointment);
         existingAppointment.setIntegrityHash(integrityHash);
         
         Appointment updatedAppointment = appointmentRepository.save(existingAppointment);
+        flushBooking(updatedAppointment);
 
         // Audit logging
         auditClient.logAction(getCurrentUserId(), "UPDATE_APPOINTMENT", id.toString(), 
             "Appointment updated",
             integrityHash);
+        daySchedules.rebuild(previousDay, DoctorDaySchedules.dayOf(updatedAppointment));
+        availabilityIndex.putAfterCommit(updatedAppointment);
 
         return appointmentMapper.toDTO(updatedAppointment);
     }
@@ -167,13 +208,30 @@ public class AppointmentServiceImpl implements AppointmentService {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new AppointmentNotFoundException("Appointment not found: " + id));
 
+        // Re-opening a cancelled / no-show appointment takes its time back: it must still be free
+        if (!DoctorAvailabilityIndex.holdsTime(appointment.getStatus()) && DoctorAvailabilityIndex.holdsTime(status)) {
+            bookingLocks.lockUntilCompletion(appointment.getDoctorId());
+            if (!availabilityIndex.isFree(appointment.getDoctorId(), appointment.getAppointmentDateTime(),
+                    DoctorAvailabilityIndex.durationOf(appointment), id)) {
+                throw new InvalidAppointmentException("Time slot is not available");
+            }
+        }
+
         appointment.setStatus(status);
         
         // Compute and store integrity hash
-        String integrityHash = computeDataHash(appointment);
+        String integrityHash = AppointmentIntegrity.hash(appointment);
         appointment.setIntegrityHash(integrityHash);
         
         Appointment updated = appointmentRepository.save(appointment);
+        flushBooking(updated);
+
+        // Audit logging
+        auditClient.logAction(getCurrentUserId(), "UPDATE_APPOINTMENT_STATUS", id.toString(),
+            "Appointment status changed to " + status,
+            integrityHash);
+        daySchedules.rebuild(DoctorDaySchedules.dayOf(updated));
+        availabilityIndex.putAfterCommit(updated);
 
         return appointmentMapper.toDTO(updated);
     }
@@ -196,7 +254,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         // For now, allow viewing cancelled appointments in history.
         
         // Compute and store integrity hash
-        String integrityHash = computeDataHash(appointment);
+        String integrityHash = AppointmentIntegrity.hash(appointment);
         appointment.setIntegrityHash(integrityHash);
 
         appointmentRepository.save(appointment);
@@ -205,41 +263,43 @@ public class AppointmentServiceImpl implements AppointmentService {
         auditClient.logAction(getCurrentUserId(), "CANCEL_APPOINTMENT", id.toString(), 
             "Appointment cancelled",
             integrityHash);
+        daySchedules.rebuild(DoctorDaySchedules.dayOf(appointment));
+        availabilityIndex.putAfterCommit(appointment);
         
         log.info("Appointment cancelled successfully: {}", id);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public boolean isTimeSlotAvailable(Long doctorId, LocalDateTime dateTime) {
-        // // Business logic will be added in the specialized subject
-        // TODO: Implement proper availability logic considering:
-        // - Doctor's working hours
-        // - Existing appointments
-        // - Break times
-        List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(doctorId, dateTime);
-        return conflicts.isEmpty();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean isTimeSlotAvailable(Long doctorId, LocalDateTime dateTime, int durationMinutes) {
+        // Served from memory: a connection is only taken to load a day not seen yet
+        return availabilityIndex.isFree(doctorId, dateTime, durationMinutes, null);
     }
 
-    /**
-     * Validates that a patient exists via Patient Service.
-     */
-    private void validatePatientExists(Long patientId) {
-        // // Business logic will be added in the specialized subject
-        Boolean exists = patientClient.checkPatientExists(patientId);
-        if (!Boolean.TRUE.equals(exists)) {
-            throw new InvalidAppointmentException("Patient not found: " + patientId);
-        }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TimeSlot> findFreeSlots(Long doctorId, LocalDateTime from, int durationMinutes, int count) {
+        return availabilityIndex.nextFreeSlots(doctorId, from, durationMinutes, count);
     }
 
     /**
-     * Validates that a doctor exists via Staff Service.
+     * Writes the pending changes now, so that a booking rejected by the
+     * appointments_no_doctor_overlap constraint (same time booked through
+     * another instance) is reported as an unavailable slot, not a commit failure.
+     * The index saw that slot as free: its days are reloaded on the next question.
      */
-    private void validateDoctorExists(Long doctorId) {
-        // // Business logic will be added in the specialized subject
-        Boolean exists = staffClient.checkStaffExists(doctorId);
-        if (!Boolean.TRUE.equals(exists)) {
-            throw new InvalidAppointmentException("Doctor not found: " + doctorId);
+    private void flushBooking(Appointment booking) {
+        try {
+            appointmentRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message != null && message.contains(NO_OVERLAP_CONSTRAINT)) {
+                LocalDateTime start = booking.getAppointmentDateTime();
+                availabilityIndex.invalidateAfterCompletion(booking.getDoctorId(), start,
+                        start.plusMinutes(DoctorAvailabilityIndex.durationOf(booking)));
+                throw new InvalidAppointmentException("Time slot is not available");
+            }
+            throw e;
         }
     }
 
@@ -251,25 +311,5 @@ public class AppointmentServiceImpl implements AppointmentService {
         // TODO: In Subject 2 (Security), extract from Spring SecurityContext
         return "system";
     }
-
-    private String computeDataHash(Object data) {
-        try {
-            String input = data.toString();
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(input.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder(2 * encodedhash.length);
-            for (int i = 0; i < encodedhash.length; i++) {
-                String hex = Integer.toHexString(0xff & encodedhash[i]);
-                if(hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            log.warn("Failed to compute data hash", e);
-            return "HASH_ERROR";
-        }
-    }
 }
 
@@ -0,0 +1,37 @@
+-- Baseline: the schema as Hibernate (ddl-auto: update) created it.
+-- Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and skip this script; IF NOT EXISTS
+-- keeps it harmless anyway. From now on every schema change is a new V<n> script.
+
+CREATE TABLE IF NOT EXISTS appointments (
+    id                    bigint        NOT NULL PRIMARY KEY,
+    patient_id            bigint        NOT NULL,
+    doctor_id             bigint        NOT NULL,
+    appointment_date_time timestamp(6)  NOT NULL,
+    duration_minutes      integer,
+    status                varchar(255)  NOT NULL,
+    appointment_type      varchar(255),
+    reason                varchar(500),
+    notes                 varchar(1000),
+    room_number           varchar(255),
+    created_at            timestamp(6),
+    updated_at            timestamp(6),
+    integrity_hash        varchar(255),
+    is_active             boolean       NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS audit_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         varchar(255)  NOT NULL,
+    action          varchar(255)  NOT NULL,
+    resource_id     varchar(255)  NOT NULL,
+    details         varchar(1000),
+    data_hash       varchar(255),
+    created_at      timestamp(6)  NOT NULL,
+    attempts        integer       NOT NULL,
+    next_attempt_at timestamp(6)  NOT NULL,
+    last_error      varchar(500)
+);
+
+-- Outbox shipper: WHERE next_attempt_at <= now ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_audit_outbox_next_attempt ON audit_outbox (next_attempt_at, id);
@@ -0,0 +1,14 @@
+-- Indexes matched to the AppointmentRepository queries.
+
+-- Doctor agenda: findDoctorAppointmentsInRange (doctor_id = ? AND date BETWEEN ? AND ?),
+-- findConflictingAppointments (doctor_id = ? AND date = ?),
+-- findByDoctorIdAndActiveTrueOrderByAppointmentDateTimeAsc
+CREATE INDEX IF NOT EXISTS idx_appointments_doctor_date
+    ON appointments (doctor_id, appointment_date_time);
+
+-- Patient history: findByPatientIdAndActiveTrueOrderByAppointmentDateTimeDesc
+-- (index scanned backwards), findByPatientIdAndAppointmentDateTimeBetween,
+-- findUpcomingAppointments (patient_id = ? AND date > now)
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_date
+    ON appointments (patient_id, appointment_date_time);
+
@@ -0,0 +1,28 @@
+-- A doctor cannot hold two overlapping bookings, whatever the number of service instances.
+-- Same rule as DoctorAvailabilityIndex: active appointments that are not cancelled
+-- or no-show hold [start, start + duration) (30 minutes when the duration is unset).
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Existing double bookings would make the constraint fail with a bare error: name them
+DO $$
+DECLARE
+    overlapping_pairs bigint;
+BEGIN
+    SELECT count(*) INTO overlapping_pairs
+    FROM appointments a
+    JOIN appointments b
+      ON a.doctor_id = b.doctor_id AND a.id < b.id
+     AND tsrange(a.appointment_date_time, a.appointment_date_time + COALESCE(a.duration_minutes, 30) * interval '1 minute')
+      && tsrange(b.appointment_date_time, b.appointment_date_time + COALESCE(b.duration_minutes, 30) * interval '1 minute')
+    WHERE a.is_active AND a.status NOT IN ('CANCELLED', 'NO_SHOW')
+      AND b.is_active AND b.status NOT IN ('CANCELLED', 'NO_SHOW');
+    IF overlapping_pairs > 0 THEN
+        RAISE EXCEPTION '% pairs of overlapping bookings: cancel one of each pair, then restart', overlapping_pairs;
+    END IF;
+END $$;
+
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_no_doctor_overlap EXCLUDE USING gist (
+        doctor_id WITH =,
+        tsrange(appointment_date_time, appointment_date_time + COALESCE(duration_minutes, 30) * interval '1 minute') WITH &&
+    ) WHERE (is_active AND status NOT IN ('CANCELLED', 'NO_SHOW'));
@@ -0,0 +1,12 @@
+-- Day-schedule read model (DoctorDaySchedules): one row per doctor and day, holding
+-- the day view (GET /api/appointments/doctor/{id}/date/{date}) as a JSON array.
+-- Rewritten in the transaction of every appointment write. Reads never write: a day
+-- not written since this migration is built from the appointments when read, and
+-- gets its row at its next appointment write.
+CREATE TABLE IF NOT EXISTS doctor_day_schedules (
+    doctor_id     bigint        NOT NULL,
+    schedule_date date          NOT NULL,
+    entries       text          NOT NULL,
+    updated_at    timestamp(6)  NOT NULL,
+    PRIMARY KEY (doctor_id, schedule_date)
+);
@@ -0,0 +1,137 @@
+package com.hospital.appointment.repository;
+
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.model.AppointmentStatus;
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.QueryPlans;
+import com.hospital.common.test.StatementRecorder;
+import com.hospital.common.test.TestDatabaseFixture;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The appointment range queries must be served by the indexes of the
+ * Flyway migrations. Each test calls the repository method against an
+ * embedded PostgreSQL migrated with V1..Vn and filled with enough rows for
+ * the planner to prefer an index, then EXPLAINs the SQL it actually sent
+ * (same bound values) and rejects any sequential scan.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AppointmentRepositoryQueryPlanTest {
+
+    private static final int APPOINTMENTS = 100_000;
+    private static final int DOCTORS = 200;
+    private static final int PATIENTS = 20_000;
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2026, 1, 12, 0, 0);
+    private static final LocalDateTime DAY_END = DAY_START.plusDays(1);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void findDoctorAppointmentsInRangeUsesDoctorDateIndex() throws SQLException {
+        appointmentRepository.findDoctorAppointmentsInRange(17L, DAY_START, DAY_END);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findBookingsStartingBetweenUsesDoctorDateIndex() throws SQLException {
+        appointmentRepository.findBookingsStartingBetween(17L, DAY_START, DAY_END,
+                EnumSet.of(AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW));
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findByPatientIdAndAppointmentDateTimeBetweenUsesPatientDateIndex() throws SQLException {
+        appointmentRepository.findByPatientIdAndAppointmentDateTimeBetween(1234L, DAY_START, DAY_START.plusDays(30));
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findUpcomingAppointmentsUsesPatientDateIndex() throws SQLException {
+        appointmentRepository.findUpcomingAppointments(1234L, DAY_START);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void streamDoctorsAppointmentsUsesDoctorDateIndex() throws SQLException {
+        try (Stream<Appointment> appointments = appointmentRepository.streamDoctorsAppointments(
+                List.of(17L, 18L, 19L), DAY_START, DAY_START.plusDays(7))) {
+            assertThat(appointments.count()).isPositive();
+        }
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void streamPatientAppointmentsUsesPatientDateIndex() throws SQLException {
+        try (Stream<Appointment> appointments = appointmentRepository.streamPatientAppointments(
+                1234L, DAY_START.minusDays(7), DAY_START.plusDays(30))) {
+            assertThat(appointments.count()).isPositive();
+        }
+
+        assertNoSequentialScan();
+    }
+
+    private void assertNoSequentialScan() throws SQLException {
+        QueryPlans.assertNoSequentialScan(recorder, postgres);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Appointment.class)
+    @EnableJpaRepositories(basePackageClasses = AppointmentRepository.class)
+    @Import(EmbeddedPostgresTestConfiguration.class)
+    static class QueryPlanConfig {
+
+        /**
+         * One booking per doctor and hour, so the no-overlap constraint of V4 accepts every row.
+         */
+        @Bean
+        TestDatabaseFixture appointments() {
+            return () -> List.of("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date_time,"
+                    + " duration_minutes, status, appointment_type, created_at, updated_at, is_active)"
+                    + " SELECT i, 1 + i % " + PATIENTS + ", 1 + i % " + DOCTORS + ","
+                    + " timestamp '2026-01-05 08:00' + (i / " + DOCTORS + ") * interval '1 hour', 30,"
+                    + " CASE WHEN i % 20 = 0 THEN 'CANCELLED' ELSE 'SCHEDULED' END, 'INITIAL_CONSULTATION',"
+                    + " timestamp '2026-01-01', timestamp '2026-01-01', i % 50 <> 0"
+                    + " FROM generate_series(1, " + APPOINTMENTS + ") i");
+        }
+    }
+}
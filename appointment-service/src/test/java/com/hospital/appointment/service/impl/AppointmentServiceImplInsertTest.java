@@ -0,0 +1,113 @@
+package com.hospital.appointment.service.impl;
+
+import com.hospital.appointment.availability.DoctorAvailabilityIndex;
+import com.hospital.appointment.availability.DoctorBookingLocks;
+import com.hospital.appointment.client.AuditClient;
+import com.hospital.appointment.client.ReferenceValidator;
+import com.hospital.appointment.dto.AppointmentCreateRequest;
+import com.hospital.appointment.dto.AppointmentDTO;
+import com.hospital.appointment.integrity.AppointmentIntegrity;
+import com.hospital.appointment.integrity.AppointmentIntegrityConfig;
+import com.hospital.appointment.mapper.AppointmentMapperImpl;
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.model.AppointmentType;
+import com.hospital.appointment.repository.AppointmentRepository;
+import com.hospital.appointment.schedule.DoctorDaySchedules;
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.StatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A new appointment is written by a single INSERT carrying its integrity
+ * hash: no UPDATE of the row just inserted, and the hash sent to the audit
+ * trail is the one stored.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AppointmentServiceImplInsertTest {
+
+    @Autowired
+    private AppointmentServiceImpl appointmentService;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private ReferenceValidator referenceValidator;
+
+    @MockBean
+    private AuditClient auditClient;
+
+    @MockBean
+    private DoctorAvailabilityIndex availabilityIndex;
+
+    @MockBean
+    private DoctorBookingLocks bookingLocks;
+
+    @MockBean
+    private DoctorDaySchedules daySchedules;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void createAppointmentInsertsTheRowOnceWithItsHash() {
+        when(availabilityIndex.isFree(eq(17L), any(), anyInt(), any())).thenReturn(true);
+
+        AppointmentDTO created = appointmentService.createAppointment(AppointmentCreateRequest.builder()
+                .patientId(1234L)
+                .doctorId(17L)
+                .appointmentDateTime(LocalDateTime.of(2026, 1, 12, 9, 0))
+                .durationMinutes(30)
+                .appointmentType(AppointmentType.INITIAL_CONSULTATION)
+                .build());
+        // What the commit would send
+        entityManager.flush();
+
+        assertThat(recorder.recorded("insert")).hasSize(1)
+                .allMatch(statement -> statement.sql().contains("appointments"));
+        assertThat(recorder.recorded("update")).isEmpty();
+
+        entityManager.clear();
+        Appointment stored = entityManager.find(Appointment.class, created.getId());
+        assertThat(stored.getIntegrityHash()).isNotNull().isEqualTo(AppointmentIntegrity.hash(stored));
+        verify(auditClient).logAction(
+                anyString(), eq("CREATE_APPOINTMENT"), eq(created.getId().toString()), anyString(), eq(stored.getIntegrityHash()));
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Appointment.class)
+    @EnableJpaRepositories(basePackageClasses = AppointmentRepository.class)
+    @Import({EmbeddedPostgresTestConfiguration.class, AppointmentIntegrityConfig.class,
+            AppointmentServiceImpl.class, AppointmentMapperImpl.class})
+    static class InsertConfig {
+    }
+}
@@ -0,0 +1,26 @@
+-- Schema of a database created before the Flyway migrations: what Hibernate
+-- (ddl-auto: update) generated for the entities of the baseline, on PostgreSQL.
+-- No audit_outbox table, bigserial ids. Used by the Flyway upgrade test.
+
+create table appointments (
+    duration_minutes integer,
+    is_active boolean not null,
+    appointment_date_time timestamp(6) not null,
+    created_at timestamp(6),
+    doctor_id bigint not null,
+    id bigserial not null,
+    patient_id bigint not null,
+    updated_at timestamp(6),
+    reason varchar(500),
+    notes varchar(1000),
+    appointment_type varchar(255) check (appointment_type in ('INITIAL_CONSULTATION','FOLLOW_UP','ROUTINE_CHECKUP','EMERGENCY','SPECIALIST_REFERRAL','LAB_WORK','IMAGING','PROCEDURE')),
+    integrity_hash varchar(255),
+    room_number varchar(255),
+    status varchar(255) not null check (status in ('SCHEDULED','CHECKED_IN','IN_PROGRESS','COMPLETED','CANCELLED','NO_SHOW')),
+    primary key (id)
+);
+
+insert into appointments (patient_id, doctor_id, appointment_date_time, duration_minutes, status, appointment_type, is_active, created_at, updated_at)
+values (1, 1, timestamp '2026-01-12 09:00', 30, 'SCHEDULED', 'INITIAL_CONSULTATION', true, now(), now()),
+       (2, 1, timestamp '2026-01-12 09:30', 30, 'SCHEDULED', 'FOLLOW_UP', true, now(), now()),
+       (3, 1, timestamp '2026-01-12 09:30', 30, 'CANCELLED', 'FOLLOW_UP', true, now(), now());
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import org.web3j.abi.EventEncoder;
 import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.DynamicArray;
 import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.Type;
@@ -37,10 +38,16 @@ public class MedicalAudit extends Contract {
 
     public static final String FUNC_LOGACTION = "logAction";
 
+    public static final String FUNC_LOGACTIONS = "logActions";
+
     public static final String FUNC_GETLOGS = "getLogs";
 
     public static final String FUNC_GETLOGCOUNT = "getLogCount";
 
+    public static final Event AUDITLOGCREATED_EVENT = new Event("AuditLogCreated", 
+            Arrays.<TypeReference<?>>asList(new TypeReference<Utf8String>(true) {}, new TypeReference<Utf8String>(true) {}, new TypeReference<Utf8String>() {}, new TypeReference<Uint256>() {}, new TypeReference<Utf8String>() {}));
+    ;
+
     public static final Event ACTIONLOGGED_EVENT = new Event("ActionLogged", 
             Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}, new TypeReference<Utf8String>() {}, new TypeReference<Utf8String>() {}, new TypeReference<Utf8String>() {}, new TypeReference<Uint256>() {}));
     ;
@@ -110,6 +117,17 @@ public class MedicalAudit extends Contract {
         return executeRemoteCallTransaction(function);
     }
 
+    public RemoteFunctionCall<TransactionReceipt> logActions(List<String> userIds, List<String> actions, List<String> resourceIds, List<String> dataHashes) {
+        final Function function = new Function(
+                FUNC_LOGACTIONS, 
+                Arrays.<Type>asList(new DynamicArray<Utf8String>(Utf8String.class, org.web3j.abi.Utils.typeMap(userIds, Utf8String.class)), 
+                new DynamicArray<Utf8String>(Utf8String.class, org.web3j.abi.Utils.typeMap(actions, Utf8String.class)), 
+                new DynamicArray<Utf8String>(Utf8String.class, org.web3j.abi.Utils.typeMap(resourceIds, Utf8String.class)), 
+                new DynamicArray<Utf8String>(Utf8String.class, org.web3j.abi.Utils.typeMap(dataHashes, Utf8String.class))), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
     // Méthode getLogs supprimée car elle nécessite la gestion complexe des Structs Solidity
     // Pour lire les logs, nous utiliserons plutôt les événements (ActionLoggedEvent)
 
@@ -1,21 +1,49 @@
 package com.hospital.audit.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hospital.audit.dto.AuditDto;
+import com.hospital.audit.dto.AuditLogPage;
+import com.hospital.audit.dto.LatestHashesRequest;
+import com.hospital.audit.dto.MerkleProofDto;
+import com.hospital.audit.model.AuditTransaction;
+import com.hospital.audit.repository.AuditTransactionRepository;
+import com.hospital.audit.service.AnchoringService;
+import com.hospital.audit.service.AuditEventBroadcaster;
 import com.hospital.audit.service.AuditService;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import java.util.List;
+import java.util.Map;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@Validated
 @RequestMapping("/audit")
 @CrossOrigin(origins = "*") // Autoriser le Frontend (React/Vite)
 public class AuditController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final AuditService auditService;
+    private final AnchoringService anchoringService;
+    private final AuditTransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditEventBroadcaster auditEventBroadcaster;
 
-    public AuditController(AuditService auditService) {
+    public AuditController(AuditService auditService, AnchoringService anchoringService,
+                           AuditTransactionRepository transactionRepository, ObjectMapper objectMapper,
+                           AuditEventBroadcaster auditEventBroadcaster) {
         this.auditService = auditService;
+        this.anchoringService = anchoringService;
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+        this.auditEventBroadcaster = auditEventBroadcaster;
     }
 
     /**
@@ -29,6 +57,27 @@ public class AuditController {
             auditDto.setTransactionHash(transactionHash);
             auditDto.setTimestamp(System.currentTimeMillis()); 
             return ResponseEntity.ok(auditDto);
+        } catch (IllegalArgumentException e) {
+            // Donnée sensible détectée : même réponse que /log/batch, l'outbox écarte l'événement
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    /**
+     * Enregistre un lot d'actions dans une seule transaction blockchain.
+     * Endpoint: POST /audit/log/batch
+     * Utilisé par les outbox des microservices pour amortir le coût du minage.
+     * Au plus audit.batch.max-size entrées par appel, sinon 400.
+     */
+    @PostMapping("/log/batch")
+    public ResponseEntity<List<AuditDto>> logActions(@RequestBody @NotEmpty List<@Valid AuditDto> auditDtos) {
+        try {
+            return ResponseEntity.ok(auditService.logActions(auditDtos));
+        } catch (IllegalArgumentException e) {
+            // Donnée sensible détectée ou lot trop grand : inutile de renvoyer le même lot
+            return ResponseEntity.badRequest().body(null);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(null);
         }
@@ -43,6 +92,53 @@ public class AuditController {
         return ResponseEntity.ok(auditService.getAllLogs());
     }
 
+    /**
+     * Récupère les logs page par page (curseur = "bloc:position")
+     * Endpoint: GET /audit/logs/page?after=120:3&limit=100
+     */
+    @GetMapping("/logs/page")
+    public ResponseEntity<AuditLogPage> getLogsPage(@RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(auditService.getLogsPage(after, clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Exporte tous les logs en NDJSON (un log par ligne), page par page :
+     * mémoire constante quel que soit le volume (exports de conformité).
+     * Endpoint: GET /audit/logs/stream
+     */
+    @GetMapping(value = "/logs/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamLogs() {
+        StreamingResponseBody body = out -> {
+            String cursor = null;
+            do {
+                AuditLogPage page = auditService.getLogsPage(cursor, MAX_PAGE_SIZE);
+                for (AuditDto dto : page.getItems()) {
+                    out.write(objectMapper.writeValueAsBytes(dto));
+                    out.write('\n');
+                }
+                out.flush();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
+    /**
+     * Flux temps réel des nouveaux logs (Server-Sent Events, événement "audit-log")
+     * Endpoint: GET /audit/logs/live
+     */
+    @GetMapping(value = "/logs/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveLogs() {
+        return auditEventBroadcaster.register();
+    }
+
     /**
      * Récupère les logs d'un patient spécifique
      * Endpoint: GET /audit/patient/{id}
@@ -61,6 +157,37 @@ public class AuditController {
         return ResponseEntity.ok(auditService.getLogsByUser(id));
     }
 
+    /**
+     * Derniers hash ancrés pour un lot de ressources (re-vérification d'intégrité)
+     * Endpoint: POST /audit/hashes/latest
+     */
+    @PostMapping("/hashes/latest")
+    public ResponseEntity<Map<String, String>> getLatestHashes(@Valid @RequestBody LatestHashesRequest request) {
+        return ResponseEntity.ok(auditService.getLatestHashes(request.getResourceIds(), request.getActions()));
+    }
+
+    /**
+     * Statut d'une transaction soumise (PENDING, CONFIRMED, FAILED, DROPPED)
+     * Endpoint: GET /audit/tx/{hash}
+     */
+    @GetMapping("/tx/{hash}")
+    public ResponseEntity<AuditTransaction> getTransaction(@PathVariable String hash) {
+        return transactionRepository.findById(hash)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Preuve de Merkle d'un événement enregistré en mode ancrage
+     * Endpoint: GET /audit/proof/{id}
+     */
+    @GetMapping("/proof/{id}")
+    public ResponseEntity<MerkleProofDto> getProof(@PathVariable Long id) {
+        return anchoringService.getProof(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Endpoint de vérification "Health" pour la blockchain
      */
@@ -68,4 +195,17 @@ public class AuditController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Audit Service is connecting to Blockchain...");
     }
+
+    /**
+     * Entrée invalide d'un lot (@Validated : List<@Valid AuditDto>) : 400 comme
+     * /log, et non 500, pour que l'outbox renvoie les événements un par un.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Void> handleConstraintViolation(ConstraintViolationException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
 }
@@ -19,6 +19,9 @@ public class AuditDto {
     private String transactionHash;
     private String dataHash;
 
+    // Mode ancrage : identifiant pour GET /audit/proof/{id}
+    private Long anchorId;
+
     // Constructeurs
     public AuditDto() {}
 
@@ -54,4 +57,7 @@ public class AuditDto {
 
     public String getTransactionHash() { return transactionHash; }
     public void setTransactionHash(String transactionHash) { this.transactionHash = transactionHash; }
+
+    public Long getAnchorId() { return anchorId; }
+    public void setAnchorId(Long anchorId) { this.anchorId = anchorId; }
 }
@@ -0,0 +1,27 @@
+package com.hospital.audit.dto;
+
+import java.util.List;
+
+/**
+ * Page de logs d'audit. {@code nextCursor} ("bloc:position") est à
+ * renvoyer dans le paramètre {@code after} ; null sur la dernière page.
+ */
+public class AuditLogPage {
+
+    private List<AuditDto> items;
+    private String nextCursor;
+
+    public AuditLogPage() {}
+
+    public AuditLogPage(List<AuditDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters et Setters
+    public List<AuditDto> getItems() { return items; }
+    public void setItems(List<AuditDto> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,27 @@
+package com.hospital.audit.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Demande des derniers hash ancrés pour un lot de ressources.
+ * Les actions distinguent les types de ressources (un patient et un rendez-vous
+ * peuvent avoir le même ID technique).
+ */
+public class LatestHashesRequest {
+
+    @NotEmpty(message = "La liste des ressources est obligatoire")
+    private List<String> resourceIds;
+
+    @NotEmpty(message = "La liste des actions est obligatoire")
+    private List<String> actions;
+
+    public LatestHashesRequest() {}
+
+    // Getters et Setters
+    public List<String> getResourceIds() { return resourceIds; }
+    public void setResourceIds(List<String> resourceIds) { this.resourceIds = resourceIds; }
+
+    public List<String> getActions() { return actions; }
+    public void setActions(List<String> actions) { this.actions = actions; }
+}
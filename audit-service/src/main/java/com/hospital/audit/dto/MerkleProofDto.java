@@ -0,0 +1,55 @@
+package com.hospital.audit.dto;
+
+import java.util.List;
+
+/**
+ * Preuve d'inclusion d'un événement ancré : permet de vérifier l'événement
+ * contre la racine publiée on-chain (transaction ANCHOR_ROOT) sans faire
+ * confiance à l'audit-service.
+ */
+public class MerkleProofDto {
+
+    private Long anchorId;
+    private Long batchId;
+    private String status;
+    private String dataHash;
+    private String leafHash;
+    private Integer leafIndex;
+    private List<String> proof;
+    private String merkleRoot;
+    private String transactionHash;
+    private boolean verified;
+
+    public MerkleProofDto() {}
+
+    // Getters et Setters
+    public Long getAnchorId() { return anchorId; }
+    public void setAnchorId(Long anchorId) { this.anchorId = anchorId; }
+
+    public Long getBatchId() { return batchId; }
+    public void setBatchId(Long batchId) { this.batchId = batchId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getDataHash() { return dataHash; }
+    public void setDataHash(String dataHash) { this.dataHash = dataHash; }
+
+    public String getLeafHash() { return leafHash; }
+    public void setLeafHash(String leafHash) { this.leafHash = leafHash; }
+
+    public Integer getLeafIndex() { return leafIndex; }
+    public void setLeafIndex(Integer leafIndex) { this.leafIndex = leafIndex; }
+
+    public List<String> getProof() { return proof; }
+    public void setProof(List<String> proof) { this.proof = proof; }
+
+    public String getMerkleRoot() { return merkleRoot; }
+    public void setMerkleRoot(String merkleRoot) { this.merkleRoot = merkleRoot; }
+
+    public String getTransactionHash() { return transactionHash; }
+    public void setTransactionHash(String transactionHash) { this.transactionHash = transactionHash; }
+
+    public boolean isVerified() { return verified; }
+    public void setVerified(boolean verified) { this.verified = verified; }
+}
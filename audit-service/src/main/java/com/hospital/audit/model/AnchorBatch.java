@@ -0,0 +1,74 @@
+package com.hospital.audit.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Fenêtre d'événements ancrée sur la blockchain par sa racine de Merkle.
+ * Seule la racine est écrite dans le contrat (action ANCHOR_ROOT) ; les
+ * feuilles et leurs preuves restent dans {@link AnchoredEvent}.
+ */
+@Entity
+@Table(name = "anchor_batches",
+    indexes = @Index(name = "idx_anchor_batch_status", columnList = "status"))
+public class AnchorBatch {
+
+    /** Scellé, racine pas encore envoyée (ou nœud indisponible lors de l'envoi). */
+    public static final String STATUS_PENDING = "PENDING";
+    /** Racine envoyée, en attente du reçu (suivi par ReceiptPoller). */
+    public static final String STATUS_SUBMITTED = "SUBMITTED";
+    /** Reçu confirmé : la racine est dans un bloc. */
+    public static final String STATUS_ANCHORED = "ANCHORED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "merkle_root", length = 66, nullable = false)
+    private String merkleRoot;
+
+    @Column(name = "leaf_count", nullable = false)
+    private Integer leafCount;
+
+    @Column(name = "status", length = 16, nullable = false)
+    private String status;
+
+    @Column(name = "transaction_hash", length = 66)
+    private String transactionHash;
+
+    @Column(name = "created_at")
+    private Long createdAt;
+
+    @Column(name = "anchored_at")
+    private Long anchoredAt;
+
+    public AnchorBatch() {}
+
+    public AnchorBatch(String merkleRoot, Integer leafCount) {
+        this.merkleRoot = merkleRoot;
+        this.leafCount = leafCount;
+        this.status = STATUS_PENDING;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    // Getters et Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getMerkleRoot() { return merkleRoot; }
+    public void setMerkleRoot(String merkleRoot) { this.merkleRoot = merkleRoot; }
+
+    public Integer getLeafCount() { return leafCount; }
+    public void setLeafCount(Integer leafCount) { this.leafCount = leafCount; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getTransactionHash() { return transactionHash; }
+    public void setTransactionHash(String transactionHash) { this.transactionHash = transactionHash; }
+
+    public Long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Long createdAt) { this.createdAt = createdAt; }
+
+    public Long getAnchoredAt() { return anchoredAt; }
+    public void setAnchoredAt(Long anchoredAt) { this.anchoredAt = anchoredAt; }
+}
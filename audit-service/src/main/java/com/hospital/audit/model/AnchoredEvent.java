@@ -0,0 +1,86 @@
+package com.hospital.audit.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Événement d'audit en mode ancrage : stocké localement en attendant que sa
+ * fenêtre soit scellée, puis rattaché à son {@link AnchorBatch} avec sa
+ * position dans l'arbre et la preuve de Merkle qui le relie à la racine.
+ */
+@Entity
+@Table(name = "anchored_events",
+    indexes = @Index(name = "idx_anchored_batch", columnList = "batch_id, id"))
+public class AnchoredEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Null tant que l'événement attend la fermeture de sa fenêtre. */
+    @Column(name = "batch_id")
+    private Long batchId;
+
+    @Column(name = "leaf_index")
+    private Integer leafIndex;
+
+    @Column(name = "leaf_hash", length = 66, nullable = false)
+    private String leafHash;
+
+    /** Chemin vers la racine : "L:0x..." ou "R:0x..." séparés par des virgules. */
+    @Column(name = "proof", length = 16000)
+    private String proof;
+
+    @Column(name = "user_id", length = 512)
+    private String userId;
+
+    @Column(name = "action", length = 512)
+    private String action;
+
+    @Column(name = "resource_id", length = 512)
+    private String resourceId;
+
+    @Column(name = "details", length = 4000)
+    private String details;
+
+    @Column(name = "data_hash", length = 512)
+    private String dataHash;
+
+    @Column(name = "timestamp_ms")
+    private Long timestamp;
+
+    public AnchoredEvent() {}
+
+    // Getters et Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBatchId() { return batchId; }
+    public void setBatchId(Long batchId) { this.batchId = batchId; }
+
+    public Integer getLeafIndex() { return leafIndex; }
+    public void setLeafIndex(Integer leafIndex) { this.leafIndex = leafIndex; }
+
+    public String getLeafHash() { return leafHash; }
+    public void setLeafHash(String leafHash) { this.leafHash = leafHash; }
+
+    public String getProof() { return proof; }
+    public void setProof(String proof) { this.proof = proof; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getResourceId() { return resourceId; }
+    public void setResourceId(String resourceId) { this.resourceId = resourceId; }
+
+    public String getDetails() { return details; }
+    public void setDetails(String details) { this.details = details; }
+
+    public String getDataHash() { return dataHash; }
+    public void setDataHash(String dataHash) { this.dataHash = dataHash; }
+
+    public Long getTimestamp() { return timestamp; }
+    public void setTimestamp(Long timestamp) { this.timestamp = timestamp; }
+}
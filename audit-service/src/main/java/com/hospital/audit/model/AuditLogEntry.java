@@ -0,0 +1,84 @@
+package com.hospital.audit.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Log d'audit décodé depuis la blockchain et stocké dans l'index local.
+ * Les index secondaires (resourceId, userId, action, timestamp) permettent
+ * de répondre aux requêtes de l'audit-ui sans relire la chaîne.
+ */
+@Entity
+@Table(name = "audit_log_entries",
+    uniqueConstraints = @UniqueConstraint(name = "uk_audit_block_log", columnNames = {"block_number", "log_index"}),
+    indexes = {
+        @Index(name = "idx_audit_resource", columnList = "resource_id"),
+        @Index(name = "idx_audit_user", columnList = "user_id"),
+        @Index(name = "idx_audit_action", columnList = "action"),
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp_ms")
+    })
+public class AuditLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "block_number", nullable = false)
+    private Long blockNumber;
+
+    @Column(name = "log_index", nullable = false)
+    private Integer logIndex;
+
+    @Column(name = "transaction_hash", length = 66)
+    private String transactionHash;
+
+    @Column(name = "user_id", length = 512)
+    private String userId;
+
+    @Column(name = "action", length = 512)
+    private String action;
+
+    @Column(name = "resource_id", length = 512)
+    private String resourceId;
+
+    @Column(name = "details", length = 4000)
+    private String details;
+
+    @Column(name = "data_hash", length = 512)
+    private String dataHash;
+
+    @Column(name = "timestamp_ms")
+    private Long timestamp;
+
+    public AuditLogEntry() {}
+
+    // Getters et Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBlockNumber() { return blockNumber; }
+    public void setBlockNumber(Long blockNumber) { this.blockNumber = blockNumber; }
+
+    public Integer getLogIndex() { return logIndex; }
+    public void setLogIndex(Integer logIndex) { this.logIndex = logIndex; }
+
+    public String getTransactionHash() { return transactionHash; }
+    public void setTransactionHash(String transactionHash) { this.transactionHash = transactionHash; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getResourceId() { return resourceId; }
+    public void setResourceId(String resourceId) { this.resourceId = resourceId; }
+
+    public String getDetails() { return details; }
+    public void setDetails(String details) { this.details = details; }
+
+    public String getDataHash() { return dataHash; }
+    public void setDataHash(String dataHash) { this.dataHash = dataHash; }
+
+    public Long getTimestamp() { return timestamp; }
+    public void setTimestamp(Long timestamp) { this.timestamp = timestamp; }
+}
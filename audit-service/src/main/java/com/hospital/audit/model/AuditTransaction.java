@@ -0,0 +1,87 @@
+package com.hospital.audit.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Transaction d'audit soumise au nœud sans attendre son minage.
+ * Le statut passe de PENDING à CONFIRMED / FAILED quand le
+ * {@code ReceiptPoller} récupère le reçu, ou à DROPPED si aucun reçu
+ * n'arrive avant le délai configuré.
+ */
+@Entity
+@Table(name = "audit_transactions",
+    indexes = @Index(name = "idx_audit_tx_status", columnList = "status, submitted_at"))
+public class AuditTransaction {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_CONFIRMED = "CONFIRMED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_DROPPED = "DROPPED";
+
+    @Id
+    @Column(name = "transaction_hash", length = 66)
+    private String transactionHash;
+
+    @Column(name = "from_address", length = 42, nullable = false)
+    private String fromAddress;
+
+    @Column(name = "nonce", nullable = false)
+    private Long nonce;
+
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount;
+
+    @Column(name = "status", length = 16, nullable = false)
+    private String status;
+
+    @Column(name = "block_number")
+    private Long blockNumber;
+
+    @Column(name = "gas_used")
+    private Long gasUsed;
+
+    @Column(name = "submitted_at", nullable = false)
+    private Long submittedAt;
+
+    @Column(name = "confirmed_at")
+    private Long confirmedAt;
+
+    public AuditTransaction() {}
+
+    public AuditTransaction(String transactionHash, String fromAddress, Long nonce, Integer eventCount) {
+        this.transactionHash = transactionHash;
+        this.fromAddress = fromAddress;
+        this.nonce = nonce;
+        this.eventCount = eventCount;
+        this.status = STATUS_PENDING;
+        this.submittedAt = System.currentTimeMillis();
+    }
+
+    // Getters et Setters
+    public String getTransactionHash() { return transactionHash; }
+    public void setTransactionHash(String transactionHash) { this.transactionHash = transactionHash; }
+
+    public String getFromAddress() { return fromAddress; }
+    public void setFromAddress(String fromAddress) { this.fromAddress = fromAddress; }
+
+    public Long getNonce() { return nonce; }
+    public void setNonce(Long nonce) { this.nonce = nonce; }
+
+    public Integer getEventCount() { return eventCount; }
+    public void setEventCount(Integer eventCount) { this.eventCount = eventCount; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getBlockNumber() { return blockNumber; }
+    public void setBlockNumber(Long blockNumber) { this.blockNumber = blockNumber; }
+
+    public Long getGasUsed() { return gasUsed; }
+    public void setGasUsed(Long gasUsed) { this.gasUsed = gasUsed; }
+
+    public Long getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Long submittedAt) { this.submittedAt = submittedAt; }
+
+    public Long getConfirmedAt() { return confirmedAt; }
+    public void setConfirmedAt(Long confirmedAt) { this.confirmedAt = confirmedAt; }
+}
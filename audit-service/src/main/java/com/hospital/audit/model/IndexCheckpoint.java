@@ -0,0 +1,41 @@
+package com.hospital.audit.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Dernier bloc traité par l'indexeur.
+ * Mis à jour dans la même transaction que les logs insérés : après un
+ * redémarrage, l'indexation reprend exactement là où elle s'était arrêtée.
+ */
+@Entity
+@Table(name = "index_checkpoints")
+public class IndexCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "last_block", nullable = false)
+    private Long lastBlock;
+
+    @Column(name = "updated_at")
+    private Long updatedAt;
+
+    public IndexCheckpoint() {}
+
+    public IndexCheckpoint(String name, Long lastBlock) {
+        this.name = name;
+        this.lastBlock = lastBlock;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    // Getters et Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getLastBlock() { return lastBlock; }
+    public void setLastBlock(Long lastBlock) { this.lastBlock = lastBlock; }
+
+    public Long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Long updatedAt) { this.updatedAt = updatedAt; }
+}
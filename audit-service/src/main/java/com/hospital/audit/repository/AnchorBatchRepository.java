@@ -0,0 +1,12 @@
+package com.hospital.audit.repository;
+
+import com.hospital.audit.model.AnchorBatch;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnchorBatchRepository extends JpaRepository<AnchorBatch, Long> {
+
+    List<AnchorBatch> findByStatusOrderByIdAsc(String status);
+}
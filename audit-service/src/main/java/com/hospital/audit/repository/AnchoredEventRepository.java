@@ -0,0 +1,34 @@
+package com.hospital.audit.repository;
+
+import com.hospital.audit.model.AnchoredEvent;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnchoredEventRepository extends JpaRepository<AnchoredEvent, Long> {
+
+    /**
+     * Événements en attente d'ancrage, dans l'ordre d'arrivée.
+     */
+    List<AnchoredEvent> findByBatchIdIsNullOrderByIdAsc(Pageable pageable);
+
+    long countByBatchIdIsNull();
+
+    /**
+     * Événements ancrés (racine de leur lot confirmée on-chain) portant un hash pour ces ressources.
+     */
+    @Query("SELECT e FROM AnchoredEvent e, AnchorBatch b WHERE b.id = e.batchId"
+        + " AND b.status = 'ANCHORED'"
+        + " AND e.resourceId IN :resourceIds AND e.action IN :actions AND e.dataHash IS NOT NULL"
+        + " ORDER BY e.id")
+    List<AnchoredEvent> findConfirmedHashedEvents(@Param("resourceIds") Collection<String> resourceIds,
+                                                 @Param("actions") Collection<String> actions);
+
+    Optional<AnchoredEvent> findFirstByBatchIdIsNullOrderByIdAsc();
+}
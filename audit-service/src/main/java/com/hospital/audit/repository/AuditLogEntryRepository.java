@@ -0,0 +1,46 @@
+package com.hospital.audit.repository;
+
+import com.hospital.audit.model.AuditLogEntry;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditLogEntryRepository extends JpaRepository<AuditLogEntry, Long> {
+
+    /**
+     * Tous les logs dans l'ordre de la chaîne (bloc puis position dans le bloc).
+     */
+    List<AuditLogEntry> findAllByOrderByBlockNumberAscLogIndexAsc();
+
+    /**
+     * Page suivant le curseur (bloc, position) : parcours par clé, coût
+     * constant quelle que soit la profondeur de la page.
+     */
+    @Query("SELECT e FROM AuditLogEntry e " +
+           "WHERE e.blockNumber > :block OR (e.blockNumber = :block AND e.logIndex > :logIndex) " +
+           "ORDER BY e.blockNumber ASC, e.logIndex ASC")
+    List<AuditLogEntry> findPageAfter(@Param("block") long block, @Param("logIndex") int logIndex, Pageable pageable);
+
+    /**
+     * Les logs du contrat actuel stockent le keccak de l'ID (champ indexed) :
+     * la recherche porte sur l'ID en clair et sur son topic.
+     */
+    List<AuditLogEntry> findByResourceIdInOrderByBlockNumberAscLogIndexAsc(Collection<String> resourceIds);
+
+    List<AuditLogEntry> findByUserIdInOrderByBlockNumberAscLogIndexAsc(Collection<String> userIds);
+
+    /**
+     * Logs portant un hash pour ces ressources et ces actions, dans l'ordre
+     * de la chaîne (le dernier est le plus récent).
+     */
+    @Query("SELECT e FROM AuditLogEntry e " +
+           "WHERE e.resourceId IN :resourceIds AND e.action IN :actions AND e.dataHash IS NOT NULL " +
+           "ORDER BY e.blockNumber ASC, e.logIndex ASC")
+    List<AuditLogEntry> findHashedEntries(@Param("resourceIds") Collection<String> resourceIds,
+                                          @Param("actions") Collection<String> actions);
+}
@@ -0,0 +1,13 @@
+package com.hospital.audit.repository;
+
+import com.hospital.audit.model.AuditTransaction;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditTransactionRepository extends JpaRepository<AuditTransaction, String> {
+
+    List<AuditTransaction> findByStatusOrderBySubmittedAtAsc(String status, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.hospital.audit.repository;
+
+import com.hospital.audit.model.IndexCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IndexCheckpointRepository extends JpaRepository<IndexCheckpoint, String> {
+}
@@ -0,0 +1,238 @@
+package com.hospital.audit.service;
+
+import com.hospital.audit.dto.AuditDto;
+import com.hospital.audit.dto.MerkleProofDto;
+import com.hospital.audit.model.AnchorBatch;
+import com.hospital.audit.model.AnchoredEvent;
+import com.hospital.audit.model.AuditTransaction;
+import com.hospital.audit.repository.AnchorBatchRepository;
+import com.hospital.audit.repository.AnchoredEventRepository;
+import com.hospital.audit.repository.AuditTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.utils.Numeric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mode ancrage : les événements sont regroupés en fenêtres (taille ou durée
+ * maximale), un arbre de Merkle est construit sur leurs dataHash et seule la
+ * racine est écrite dans MedicalAudit. Une transaction par fenêtre au lieu
+ * d'une par événement ; chaque événement reste vérifiable via sa preuve.
+ *
+ * Cycle d'un lot : PENDING (scellé) -> SUBMITTED (racine envoyée) -> ANCHORED
+ * une fois le reçu confirmé par {@link ReceiptPoller}. Une racine FAILED ou
+ * DROPPED est renvoyée dans une nouvelle transaction.
+ */
+@Service
+public class AnchoringService {
+
+    static final String ANCHOR_ACTION = "ANCHOR_ROOT";
+    static final String ANCHOR_USER = "audit-service";
+
+    private static final Logger logger = LoggerFactory.getLogger(AnchoringService.class);
+
+    private final TransactionSubmitter transactionSubmitter;
+    private final AnchorBatchRepository batchRepository;
+    private final AnchoredEventRepository eventRepository;
+    private final AuditTransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.anchoring.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.anchoring.window-size:256}")
+    private int windowSize;
+
+    @Value("${audit.anchoring.window-ms:10000}")
+    private long windowMs;
+
+    public AnchoringService(TransactionSubmitter transactionSubmitter,
+                            AnchorBatchRepository batchRepository,
+                            AnchoredEventRepository eventRepository,
+                            AuditTransactionRepository transactionRepository,
+                            TransactionTemplate transactionTemplate) {
+        this.transactionSubmitter = transactionSubmitter;
+        this.batchRepository = batchRepository;
+        this.eventRepository = eventRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Place l'événement dans la fenêtre courante.
+     *
+     * @return l'identifiant à utiliser pour GET /audit/proof/{id}
+     */
+    public Long enqueue(AuditDto dto) {
+        AnchoredEvent event = new AnchoredEvent();
+        event.setUserId(dto.getUserId());
+        event.setAction(dto.getAction());
+        event.setResourceId(dto.getResourceId());
+        event.setDetails(dto.getDetails());
+        event.setDataHash(dto.getDataHash());
+        event.setTimestamp(System.currentTimeMillis());
+        event.setLeafHash(Numeric.toHexString(MerkleTree.hashLeaf(leafValue(event))));
+        return eventRepository.save(event).getId();
+    }
+
+    /**
+     * Ferme les fenêtres pleines ou expirées et publie leur racine.
+     * Les lots envoyés dont le reçu est arrivé sont confirmés (ou renvoyés),
+     * puis les lots restés PENDING (nœud indisponible) sont envoyés en premier.
+     */
+    @Scheduled(fixedDelayString = "${audit.anchoring.poll-interval-ms:1000}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (AnchorBatch submitted : batchRepository.findByStatusOrderByIdAsc(AnchorBatch.STATUS_SUBMITTED)) {
+                checkReceipt(submitted);
+            }
+            for (AnchorBatch pending : batchRepository.findByStatusOrderByIdAsc(AnchorBatch.STATUS_PENDING)) {
+                commitRoot(pending);
+            }
+            while (windowReady()) {
+                commitRoot(sealWindow());
+            }
+        } catch (Exception e) {
+            logger.error("Erreur d'ancrage Merkle : {}", e.getMessage());
+        }
+    }
+
+    public Optional<MerkleProofDto> getProof(Long id) {
+        return eventRepository.findById(id).map(event -> {
+            MerkleProofDto dto = new MerkleProofDto();
+            dto.setAnchorId(event.getId());
+            dto.setDataHash(event.getDataHash());
+            dto.setLeafHash(event.getLeafHash());
+            if (event.getBatchId() == null) {
+                dto.setStatus("WAITING");
+                dto.setProof(Collections.emptyList());
+                return dto;
+            }
+
+            AnchorBatch batch = batchRepository.findById(event.getBatchId()).orElseThrow();
+            List<String> proof = event.getProof() == null || event.getProof().isEmpty()
+                ? Collections.emptyList()
+                : Arrays.asList(event.getProof().split(","));
+            dto.setBatchId(batch.getId());
+            dto.setStatus(batch.getStatus());
+            dto.setLeafIndex(event.getLeafIndex());
+            dto.setProof(proof);
+            dto.setMerkleRoot(batch.getMerkleRoot());
+            dto.setTransactionHash(batch.getTransactionHash());
+            dto.setVerified(MerkleTree.verify(event.getLeafHash(), proof, batch.getMerkleRoot()));
+            return dto;
+        });
+    }
+
+    private boolean windowReady() {
+        long waiting = eventRepository.countByBatchIdIsNull();
+        if (waiting == 0) {
+            return false;
+        }
+        if (waiting >= windowSize) {
+            return true;
+        }
+        return eventRepository.findFirstByBatchIdIsNullOrderByIdAsc()
+            .map(oldest -> System.currentTimeMillis() - oldest.getTimestamp() >= windowMs)
+            .orElse(false);
+    }
+
+    /**
+     * Construit l'arbre de la fenêtre et enregistre le lot, les positions et
+     * les preuves dans une seule transaction.
+     */
+    private AnchorBatch sealWindow() {
+        return transactionTemplate.execute(status -> {
+            List<AnchoredEvent> window = eventRepository.findByBatchIdIsNullOrderByIdAsc(PageRequest.of(0, windowSize));
+            List<byte[]> leaves = new ArrayList<>(window.size());
+            for (AnchoredEvent event : window) {
+                leaves.add(Numeric.hexStringToByteArray(event.getLeafHash()));
+            }
+            MerkleTree tree = new MerkleTree(leaves);
+
+            AnchorBatch batch = batchRepository.save(
+                new AnchorBatch(Numeric.toHexString(tree.root()), window.size()));
+            for (int i = 0; i < window.size(); i++) {
+                AnchoredEvent event = window.get(i);
+                event.setBatchId(batch.getId());
+                event.setLeafIndex(i);
+                event.setProof(String.join(",", tree.proof(i)));
+            }
+            eventRepository.saveAll(window);
+            return batch;
+        });
+    }
+
+    private void commitRoot(AnchorBatch batch) throws Exception {
+        logger.info("Ancrage du lot {} ({} événement(s)) - racine {}",
+            batch.getId(), batch.getLeafCount(), batch.getMerkleRoot());
+
+        String transactionHash = transactionSubmitter.submitLogAction(
+            ANCHOR_USER,
+            ANCHOR_ACTION,
+            "anchor-" + batch.getId(),
+            "HASH:" + batch.getMerkleRoot() + "|" + batch.getLeafCount() + " events"
+        );
+
+        // Le minage de la racine est suivi comme toute transaction (GET /audit/tx/{hash}) ;
+        // le lot n'est ANCHORED qu'une fois le reçu confirmé (checkReceipt)
+        batch.setTransactionHash(transactionHash);
+        batch.setStatus(AnchorBatch.STATUS_SUBMITTED);
+        batchRepository.save(batch);
+        logger.info("Racine soumise ! Hash: {}", transactionHash);
+    }
+
+    /**
+     * Suit le reçu de la racine relevé par {@link ReceiptPoller} : CONFIRMED rend
+     * le lot ANCHORED, FAILED ou DROPPED le renvoie, PENDING attend le passage suivant.
+     */
+    private void checkReceipt(AnchorBatch batch) throws Exception {
+        Optional<AuditTransaction> transaction = transactionRepository.findById(batch.getTransactionHash());
+        String status = transaction.map(AuditTransaction::getStatus).orElse(AuditTransaction.STATUS_PENDING);
+        switch (status) {
+            case AuditTransaction.STATUS_CONFIRMED -> {
+                batch.setStatus(AnchorBatch.STATUS_ANCHORED);
+                batch.setAnchoredAt(transaction.get().getConfirmedAt());
+                batchRepository.save(batch);
+                logger.info("Lot {} ancré (bloc {})", batch.getId(), transaction.get().getBlockNumber());
+            }
+            case AuditTransaction.STATUS_FAILED, AuditTransaction.STATUS_DROPPED -> {
+                logger.warn("Racine du lot {} {} (transaction {}) : renvoi",
+                    batch.getId(), status, batch.getTransactionHash());
+                commitRoot(batch);
+            }
+            default -> {
+                // Pas encore minée
+            }
+        }
+    }
+
+    /**
+     * La feuille est le dataHash de l'événement ; à défaut, ses champs
+     * techniques concaténés.
+     */
+    private String leafValue(AnchoredEvent event) {
+        if (event.getDataHash() != null && !event.getDataHash().isEmpty()) {
+            return event.getDataHash();
+        }
+        return event.getUserId() + "|" + event.getAction() + "|" + event.getResourceId()
+            + "|" + event.getDetails() + "|" + event.getTimestamp();
+    }
+}
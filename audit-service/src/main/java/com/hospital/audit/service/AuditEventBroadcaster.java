@@ -0,0 +1,113 @@
+package com.hospital.audit.service;
+
+import com.hospital.audit.contract.MedicalAudit;
+import com.hospital.audit.dto.AuditDto;
+import io.reactivex.disposables.Disposable;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.web3j.abi.EventEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diffusion en temps réel des nouveaux logs d'audit (Server-Sent Events).
+ *
+ * Un seul abonnement aux logs du contrat est partagé par tous les clients :
+ * il est ouvert à l'arrivée du premier client et fermé au départ du dernier.
+ * Chaque log reçu est décodé une fois puis envoyé à tous les émetteurs.
+ */
+@Service
+public class AuditEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventBroadcaster.class);
+
+    private final Web3j web3j;
+    private final AuditEventDecoder eventDecoder;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    @Value("${web3j.contract-address}")
+    private String contractAddress;
+
+    @Value("${audit.live.emitter-timeout-ms:0}")
+    private long emitterTimeoutMs;
+
+    @Value("${audit.live.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    private Disposable subscription;
+
+    public AuditEventBroadcaster(Web3j web3j, AuditEventDecoder eventDecoder) {
+        this.web3j = web3j;
+        this.eventDecoder = eventDecoder;
+    }
+
+    public SseEmitter register() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> unregister(emitter));
+        emitter.onTimeout(() -> unregister(emitter));
+        emitter.onError(e -> unregister(emitter));
+        emitters.add(emitter);
+        subscribeIfNeeded();
+        return emitter;
+    }
+
+    private void unregister(SseEmitter emitter) {
+        emitters.remove(emitter);
+        disposeIfIdle();
+    }
+
+    private synchronized void subscribeIfNeeded() {
+        if (subscription != null && !subscription.isDisposed()) {
+            return;
+        }
+        EthFilter filter = new EthFilter(DefaultBlockParameterName.LATEST, DefaultBlockParameterName.LATEST, contractAddress);
+        filter.addOptionalTopics(
+            EventEncoder.encode(MedicalAudit.AUDITLOGCREATED_EVENT),
+            EventEncoder.encode(MedicalAudit.ACTIONLOGGED_EVENT));
+
+        subscription = web3j.ethLogFlowable(filter)
+            .doOnError(e -> logger.warn("Abonnement aux logs interrompu, reprise dans {} ms : {}", retryDelayMs, e.getMessage()))
+            .retryWhen(errors -> errors.delay(retryDelayMs, TimeUnit.MILLISECONDS))
+            .subscribe(this::broadcast);
+        logger.info("Abonnement temps réel aux logs du contrat ouvert");
+    }
+
+    private synchronized void disposeIfIdle() {
+        if (emitters.isEmpty() && subscription != null) {
+            subscription.dispose();
+            subscription = null;
+            logger.info("Plus aucun client temps réel : abonnement fermé");
+        }
+    }
+
+    private void broadcast(Log log) {
+        AuditDto dto = AuditService.toDto(eventDecoder.decode(log));
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("audit-log").data(dto));
+            } catch (IOException | IllegalStateException e) {
+                // Client parti : retiré de la diffusion
+                emitters.remove(emitter);
+            }
+        }
+        disposeIfIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+        disposeIfIdle();
+    }
+}
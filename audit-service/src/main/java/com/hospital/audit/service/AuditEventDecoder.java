@@ -0,0 +1,147 @@
+package com.hospital.audit.service;
+
+import com.hospital.audit.contract.MedicalAudit;
+import com.hospital.audit.model.AuditLogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Décodeur des logs du contrat MedicalAudit, en une seule passe.
+ *
+ * Chaque version de l'événement est identifiée par son topic0 (keccak de sa
+ * signature) : un seul décodeur est choisi par log, avec des listes de types
+ * calculées une fois pour toutes. Les logs au topic0 inconnu sont traités
+ * comme l'ancien contrat (userId et action indexés).
+ */
+@Component
+public class AuditEventDecoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventDecoder.class);
+
+    // Ancien contrat : data = resourceId (string), timestamp (uint256)
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final List<TypeReference<Type>> LEGACY_PARAMS = Arrays.asList(
+        (TypeReference) new TypeReference<Utf8String>() {},
+        (TypeReference) new TypeReference<Uint256>() {});
+
+    private interface LogDecoder {
+        void decode(Log log, AuditLogEntry entry);
+    }
+
+    private final Map<String, LogDecoder> decoders = new HashMap<>();
+
+    public AuditEventDecoder() {
+        register(MedicalAudit.AUDITLOGCREATED_EVENT, this::decodeAuditLogCreated);
+        register(MedicalAudit.ACTIONLOGGED_EVENT, this::decodeActionLogged);
+    }
+
+    private void register(Event event, LogDecoder decoder) {
+        decoders.put(EventEncoder.encode(event), decoder);
+    }
+
+    public AuditLogEntry decode(Log log) {
+        AuditLogEntry entry = new AuditLogEntry();
+        entry.setBlockNumber(log.getBlockNumber().longValue());
+        entry.setLogIndex(log.getLogIndex().intValue());
+        entry.setTransactionHash(log.getTransactionHash());
+        entry.setDetails("Hash-Log"); // Valeur par défaut
+
+        List<String> topics = log.getTopics();
+        LogDecoder decoder = topics.isEmpty() ? null : decoders.get(topics.get(0));
+        try {
+            if (decoder != null) {
+                decoder.decode(log, entry);
+            } else {
+                decodeLegacy(log, entry);
+            }
+        } catch (RuntimeException e) {
+            // Données corrompues : le log est conservé pour ne pas bloquer l'indexation
+            logger.error("Echec décodage log {}: {}", log.getTransactionHash(), e.getMessage());
+            entry.setResourceId("Decode Error");
+        }
+
+        // Le hash des données voyage en tête des details : "HASH:<hash>|<details>"
+        splitHash(entry);
+        return entry;
+    }
+
+    /**
+     * Contrat actuel : userId et resourceId indexés (topics = keccak des valeurs),
+     * data = action, timestamp, dataHash.
+     */
+    private void decodeAuditLogCreated(Log log, AuditLogEntry entry) {
+        List<Type> data = FunctionReturnDecoder.decode(
+            log.getData(), MedicalAudit.AUDITLOGCREATED_EVENT.getNonIndexedParameters());
+        List<String> topics = log.getTopics();
+
+        entry.setUserId(topics.size() > 1 ? topics.get(1) : "UnknownUser");
+        entry.setResourceId(topics.size() > 2 ? topics.get(2) : "UnknownResource");
+        entry.setAction((String) data.get(0).getValue());
+        entry.setTimestamp(((BigInteger) data.get(1).getValue()).longValue() * 1000);
+        entry.setDetails((String) data.get(2).getValue());
+    }
+
+    /**
+     * Événement ActionLogged : tout dans data (id, userId, action, resourceId, timestamp).
+     */
+    private void decodeActionLogged(Log log, AuditLogEntry entry) {
+        List<Type> data = FunctionReturnDecoder.decode(
+            log.getData(), MedicalAudit.ACTIONLOGGED_EVENT.getNonIndexedParameters());
+
+        entry.setUserId((String) data.get(1).getValue());
+        entry.setAction((String) data.get(2).getValue());
+        entry.setResourceId((String) data.get(3).getValue());
+        entry.setTimestamp(((BigInteger) data.get(4).getValue()).longValue() * 1000);
+    }
+
+    /**
+     * Ancien contrat : userId et action indexés, data = resourceId, timestamp.
+     */
+    private void decodeLegacy(Log log, AuditLogEntry entry) {
+        List<String> topics = log.getTopics();
+        entry.setUserId(topics.size() > 1 ? topics.get(1) : "Unknown");
+        entry.setAction(topics.size() > 2 ? topics.get(2) : "Unknown");
+
+        List<Type> data = FunctionReturnDecoder.decode(log.getData(), LEGACY_PARAMS);
+        if (data.size() >= 2) {
+            entry.setResourceId((String) data.get(0).getValue());
+            entry.setTimestamp(((BigInteger) data.get(1).getValue()).longValue() * 1000);
+        }
+    }
+
+    private void splitHash(AuditLogEntry entry) {
+        String details = entry.getDetails();
+        if (details != null && details.startsWith("HASH:")) {
+            int pipeIndex = details.indexOf('|');
+            if (pipeIndex > 0) {
+                entry.setDataHash(details.substring(5, pipeIndex));
+                entry.setDetails(details.substring(pipeIndex + 1));
+            }
+        }
+
+        // Fallback : d'anciens logs portent le hash dans resourceId (ABI décalée)
+        String resourceId = entry.getResourceId();
+        if (resourceId != null && resourceId.startsWith("HASH:")) {
+            int pipeIndex = resourceId.indexOf('|');
+            if (pipeIndex > 0) {
+                entry.setDataHash(resourceId.substring(5, pipeIndex));
+                entry.setResourceId(resourceId.substring(pipeIndex + 1));
+            }
+        }
+    }
+}
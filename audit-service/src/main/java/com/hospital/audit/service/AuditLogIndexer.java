@@ -0,0 +1,146 @@
+package com.hospital.audit.service;
+
+import com.hospital.audit.contract.MedicalAudit;
+import com.hospital.audit.model.AuditLogEntry;
+import com.hospital.audit.model.IndexCheckpoint;
+import com.hospital.audit.repository.AuditLogEntryRepository;
+import com.hospital.audit.repository.IndexCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.abi.EventEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexeur incrémental des logs d'audit.
+ *
+ * Suit les nouveaux blocs à partir du dernier bloc enregistré (checkpoint),
+ * décode les événements du contrat et les stocke dans l'index local.
+ * Les requêtes de lecture ne touchent plus la blockchain : leur coût ne
+ * dépend plus de la longueur de la chaîne.
+ */
+@Service
+public class AuditLogIndexer {
+
+    static final String CHECKPOINT_NAME = "medical-audit-logs";
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogIndexer.class);
+
+    private final Web3j web3j;
+    private final AuditLogEntryRepository entryRepository;
+    private final IndexCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditEventDecoder eventDecoder;
+
+    @Value("${web3j.contract-address}")
+    private String contractAddress;
+
+    @Value("${audit.index.batch-blocks:5000}")
+    private long batchBlocks;
+
+    public AuditLogIndexer(Web3j web3j,
+                           AuditLogEntryRepository entryRepository,
+                           IndexCheckpointRepository checkpointRepository,
+                           TransactionTemplate transactionTemplate,
+                           AuditEventDecoder eventDecoder) {
+        this.web3j = web3j;
+        this.entryRepository = entryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventDecoder = eventDecoder;
+    }
+
+    /**
+     * Synchronise l'index avec la blockchain.
+     * Chaque tranche de blocs est enregistrée avec son checkpoint dans une
+     * seule transaction : un crash ne produit ni trou ni doublon.
+     */
+    @Scheduled(fixedDelayString = "${audit.index.poll-interval-ms:3000}")
+    public synchronized void sync() {
+        try {
+            long latest = web3j.ethBlockNumber().send().getBlockNumber().longValue();
+            long from = checkpointRepository.findById(CHECKPOINT_NAME)
+                .map(c -> c.getLastBlock() + 1)
+                .orElse(0L);
+
+            while (from <= latest) {
+                long to = Math.min(from + batchBlocks - 1, latest);
+                List<AuditLogEntry> entries = fetchRange(from, to);
+                final long lastBlock = to;
+                transactionTemplate.executeWithoutResult(status -> {
+                    entryRepository.saveAll(entries);
+                    checkpointRepository.save(new IndexCheckpoint(CHECKPOINT_NAME, lastBlock));
+                });
+                if (!entries.isEmpty()) {
+                    logger.info("Index audit : {} log(s) ajoutés (blocs {} -> {})", entries.size(), from, to);
+                }
+                from = to + 1;
+            }
+        } catch (Exception e) {
+            logger.error("Erreur de synchronisation de l'index audit : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Logs AuditLogCreated pas encore indexés (après le checkpoint), filtrés
+     * côté nœud par topic : seuls les logs correspondants sont renvoyés.
+     *
+     * @param userTopic     keccak du userId, ou null pour ne pas filtrer
+     * @param resourceTopic keccak du resourceId, ou null pour ne pas filtrer
+     */
+    public List<AuditLogEntry> fetchUnindexed(String userTopic, String resourceTopic) throws Exception {
+        long from = checkpointRepository.findById(CHECKPOINT_NAME)
+            .map(c -> c.getLastBlock() + 1)
+            .orElse(0L);
+
+        EthFilter filter = new EthFilter(
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(from)),
+            DefaultBlockParameterName.LATEST,
+            contractAddress
+        );
+        filter.addSingleTopic(EventEncoder.encode(MedicalAudit.AUDITLOGCREATED_EVENT));
+        if (userTopic != null) {
+            filter.addSingleTopic(userTopic);
+        } else {
+            filter.addNullTopic();
+        }
+        if (resourceTopic != null) {
+            filter.addSingleTopic(resourceTopic);
+        }
+        return fetch(filter);
+    }
+
+    private List<AuditLogEntry> fetchRange(long from, long to) throws Exception {
+        EthFilter filter = new EthFilter(
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(from)),
+            DefaultBlockParameter.valueOf(BigInteger.valueOf(to)),
+            contractAddress
+        );
+        return fetch(filter);
+    }
+
+    private List<AuditLogEntry> fetch(EthFilter filter) throws Exception {
+        EthLog ethLog = web3j.ethGetLogs(filter).send();
+        if (ethLog.hasError()) {
+            throw new IllegalStateException(ethLog.getError().getMessage());
+        }
+
+        List<AuditLogEntry> entries = new ArrayList<>();
+        for (EthLog.LogResult logResult : ethLog.getLogs()) {
+            entries.add(eventDecoder.decode((Log) logResult.get()));
+        }
+        return entries;
+    }
+}
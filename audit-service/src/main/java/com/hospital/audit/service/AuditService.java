@@ -1,201 +1,274 @@
 package com.hospital.audit.service;
 
-import com.hospital.audit.contract.MedicalAudit;
 import com.hospital.audit.dto.AuditDto;
+import com.hospital.audit.dto.AuditLogPage;
+import com.hospital.audit.model.AnchoredEvent;
+import com.hospital.audit.model.AuditLogEntry;
+import com.hospital.audit.repository.AnchoredEventRepository;
+import com.hospital.audit.repository.AuditLogEntryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.web3j.abi.EventEncoder;
-import org.web3j.abi.FunctionReturnDecoder;
-import org.web3j.abi.TypeReference;
-import org.web3j.abi.datatypes.Type;
-import org.web3j.abi.datatypes.Utf8String;
-import org.web3j.abi.datatypes.generated.Uint256;
-import org.web3j.protocol.Web3j;
-import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.request.EthFilter;
-import org.web3j.protocol.core.methods.response.EthLog;
-import org.web3j.protocol.core.methods.response.Log;
-import org.web3j.protocol.core.methods.response.TransactionReceipt;
-
-import java.math.BigInteger;
+import org.web3j.crypto.Hash;
+
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class AuditService {
 
-    private final MedicalAudit medicalAudit;
-    private final Web3j web3j;
+    private final TransactionSubmitter transactionSubmitter;
+    private final AuditLogEntryRepository entryRepository;
+    private final AnchoringService anchoringService;
+    private final AuditLogIndexer auditLogIndexer;
+    private final AnchoredEventRepository anchoredEventRepository;
     private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
 
-    @Value("${web3j.contract-address}")
-    private String contractAddress;
+    @Value("${audit.batch.max-size:50}")
+    private int batchMaxSize;
 
-    public AuditService(MedicalAudit medicalAudit, Web3j web3j) {
-        this.medicalAudit = medicalAudit;
-        this.web3j = web3j;
+    public AuditService(TransactionSubmitter transactionSubmitter, AuditLogEntryRepository entryRepository,
+                        AnchoringService anchoringService, AuditLogIndexer auditLogIndexer,
+                        AnchoredEventRepository anchoredEventRepository) {
+        this.transactionSubmitter = transactionSubmitter;
+        this.entryRepository = entryRepository;
+        this.anchoringService = anchoringService;
+        this.auditLogIndexer = auditLogIndexer;
+        this.anchoredEventRepository = anchoredEventRepository;
     }
 
     public String logAction(AuditDto auditDto) throws Exception {
         // Atelier 1.2.B : Validation du payload (Refuser tout champ sensible)
         validateNoSensitiveData(auditDto);
 
+        // Mode ancrage : l'événement rejoint la fenêtre courante, seule la racine ira on-chain
+        if (anchoringService.isEnabled()) {
+            auditDto.setAnchorId(anchoringService.enqueue(auditDto));
+            return null;
+        }
+
         logger.info("Envoi de la transaction Audit vers la Blockchain... [User: {}, Action: {}]", 
             auditDto.getUserId(), auditDto.getAction());
-        String detailsToSend = auditDto.getDetails() != null ? auditDto.getDetails() : "N/A";
-        if (auditDto.getDataHash() != null && !auditDto.getDataHash().isEmpty()) {
-            detailsToSend = "HASH:" + auditDto.getDataHash() + "|" + detailsToSend;
-        }
 
-        TransactionReceipt receipt = medicalAudit.logAction(
+        // Retour dès l'acceptation par le nœud ; le minage est suivi par ReceiptPoller (GET /audit/tx/{hash})
+        String transactionHash = transactionSubmitter.submitLogAction(
             auditDto.getUserId(),
             auditDto.getAction(),
             auditDto.getResourceId(),
-            detailsToSend
-        ).send();
+            buildDetails(auditDto)
+        );
 
-        logger.info("Transaction minée ! Hash: {}", receipt.getTransactionHash());
-        return receipt.getTransactionHash();
+        logger.info("Transaction soumise ! Hash: {}", transactionHash);
+        return transactionHash;
     }
 
-    public List<AuditDto> getAllLogs() {
-        logger.info("Récupération de l'historique complet (Mode Query)... Adresse contrat: {}", contractAddress);
-        List<AuditDto> results = new ArrayList<>();
+    /**
+     * Enregistre un lot d'actions avec MedicalAudit.logActions : N événements
+     * dans une seule transaction au lieu d'une transaction par événement.
+     * Un lot de plus de {@code audit.batch.max-size} entrées (limite de gaz d'un
+     * bloc) est refusé : le découper ici enverrait plusieurs transactions, et un
+     * échec partiel ferait renvoyer par l'outbox des tranches déjà écrites.
+     * Tout le lot est validé avant l'envoi : une entrée refusée rejette le lot complet.
+     *
+     * @return les entrées complétées avec le hash de leur transaction
+     */
+    public List<AuditDto> logActions(List<AuditDto> auditDtos) throws Exception {
+        if (auditDtos.size() > batchMaxSize) {
+            throw new IllegalArgumentException("Lot trop grand : " + auditDtos.size()
+                + " entrées pour " + batchMaxSize + " au maximum (audit.batch.max-size)");
+        }
+        for (AuditDto dto : auditDtos) {
+            validateNoSensitiveData(dto);
+        }
 
-        try {
-            // Création d'un filtre pour lire tous les logs depuis le début
-            EthFilter filter = new EthFilter(
-                DefaultBlockParameterName.EARLIEST,
-                DefaultBlockParameterName.LATEST,
-                contractAddress
-            );
-            
-            // DEBUG: On enlève le filtre par topic pour voir TOUT ce qui se passe sur le contrat
-            // filter.addSingleTopic(EventEncoder.encode(MedicalAudit.ACTIONLOGGED_EVENT));
-
-            EthLog ethLog = web3j.ethGetLogs(filter).send();
-            List<EthLog.LogResult> logs = ethLog.getLogs();
-
-            logger.info("Nombre de logs bruts trouvés sur la blockchain : {}", logs.size());
-
-            for (EthLog.LogResult logResult : logs) {
-                Log log = (Log) logResult.get();
-                AuditDto dto = new AuditDto();
-                dto.setTransactionHash(log.getTransactionHash());
-                dto.setDetails("Hash-Log"); // Valeur par défaut
-
-                try {
-                    // Tentative 1 : Décodage standard (tout dans Data)
-                    List<Type> nonIndexed = FunctionReturnDecoder.decode(
-                            log.getData(), 
-                            MedicalAudit.ACTIONLOGGED_EVENT.getNonIndexedParameters());
-
-                    if (nonIndexed.size() >= 4) {
-                        dto.setUserId((String) nonIndexed.get(0).getValue());
-                        dto.setAction((String) nonIndexed.get(1).getValue());
-                        dto.setResourceId((String) nonIndexed.get(2).getValue());
-                        BigInteger ts = (BigInteger) nonIndexed.get(3).getValue();
-                        dto.setTimestamp(ts.longValue() * 1000);
-                        // Tentative de récupérer details si disponible (index 4 ?)
-                        if (nonIndexed.size() >= 5) {
-                             dto.setDetails((String) nonIndexed.get(4).getValue());
-                        }
-                    } else {
-                        throw new RuntimeException("Format inattendu, passage au mode indexé");
-                    }
-                } catch (Exception e1) {
-                    // ====== TENTATIVE 2 : NOUVEAU CONTRAT (userId, resourceId INDEXÉS) ======
-                    // Data: action (string), timestamp (uint256), dataHash (string)
-                    try {
-                        List<TypeReference<Type>> newContractParams = new ArrayList<>();
-                        newContractParams.add((TypeReference) new TypeReference<Utf8String>() {}); // Action
-                        newContractParams.add((TypeReference) new TypeReference<Uint256>() {});    // Timestamp
-                        newContractParams.add((TypeReference) new TypeReference<Utf8String>() {}); // DataHash
-
-                        List<Type> data = FunctionReturnDecoder.decode(log.getData(), newContractParams);
-                        
-                        if (data.size() >= 3) {
-                             dto.setAction((String) data.get(0).getValue());
-                             dto.setTimestamp(((BigInteger) data.get(1).getValue()).longValue() * 1000);
-                             dto.setDataHash((String) data.get(2).getValue());
-                             
-                             List<String> topics = log.getTopics();
-                             dto.setUserId(topics.size() > 1 ? topics.get(1) : "UnknownUser");
-                             dto.setResourceId(topics.size() > 2 ? topics.get(2) : "UnknownResource");
-                             
-                             dto.setDetails("HashLog: " + dto.getDataHash());
-                        } else {
-                            throw new RuntimeException("Format V2 invalide");
-                        }
-                    } catch (Exception e2) {
-                        // ====== TENTATIVE 3 : ANCIEN CONTRAT (userId, action INDEXÉS) ======
-                        // Data: resourceId/details (string), timestamp (uint256)
-                        try {
-                             List<TypeReference<Type>> oldParams = new ArrayList<>();
-                             oldParams.add((TypeReference) new TypeReference<Utf8String>() {}); 
-                             oldParams.add((TypeReference) new TypeReference<Uint256>() {});    
-
-                             List<Type> data = FunctionReturnDecoder.decode(log.getData(), oldParams);
-                             
-                             List<String> topics = log.getTopics();
-                             dto.setUserId(topics.size() > 1 ? topics.get(1) : "Unknown");
-                             dto.setAction(topics.size() > 2 ? topics.get(2) : "Unknown");
-                             
-                             if (data.size() >= 2) {
-                                 dto.setResourceId((String) data.get(0).getValue());
-                                 dto.setTimestamp(((BigInteger) data.get(1).getValue()).longValue() * 1000);
-                             }
-                        } catch (Exception ex) {
-                             logger.error("Echec décodage log {}: {}", log.getTransactionHash(), ex.getMessage());
-                             dto.setResourceId("Decode Error");
-                        }
-                    }
-                }
+        if (anchoringService.isEnabled()) {
+            for (AuditDto dto : auditDtos) {
+                dto.setAnchorId(anchoringService.enqueue(dto));
+                dto.setTimestamp(System.currentTimeMillis());
+            }
+            return auditDtos;
+        }
 
-                // Parsing du hash depuis details ou resourceId (au cas où)
-                String detailsToParse = dto.getDetails();
-                if (detailsToParse != null && detailsToParse.startsWith("HASH:")) {
-                    int pipeIndex = detailsToParse.indexOf("|");
-                    if (pipeIndex > 0) {
-                        dto.setDataHash(detailsToParse.substring(5, pipeIndex));
-                        dto.setDetails(detailsToParse.substring(pipeIndex + 1));
-                    }
-                }
-                
-                // Fallback: Check ResourceId too, sometimes data ends up there due to ABI mismatch
-                String resourceToParse = dto.getResourceId();
-                if (resourceToParse != null && resourceToParse.startsWith("HASH:")) {
-                     int pipeIndex = resourceToParse.indexOf("|");
-                    if (pipeIndex > 0) {
-                        String extractedHash = resourceToParse.substring(5, pipeIndex);
-                        dto.setDataHash(extractedHash);
-                        dto.setResourceId(resourceToParse.substring(pipeIndex + 1));
-                    }
-                }
+        List<String> userIds = new ArrayList<>(auditDtos.size());
+        List<String> actions = new ArrayList<>(auditDtos.size());
+        List<String> resourceIds = new ArrayList<>(auditDtos.size());
+        List<String> details = new ArrayList<>(auditDtos.size());
+        for (AuditDto dto : auditDtos) {
+            userIds.add(dto.getUserId());
+            actions.add(dto.getAction());
+            resourceIds.add(dto.getResourceId());
+            details.add(buildDetails(dto));
+        }
 
-                
-                results.add(dto);
+        logger.info("Envoi d'un lot de {} action(s) Audit vers la Blockchain...", auditDtos.size());
+        String transactionHash = transactionSubmitter.submitLogActions(userIds, actions, resourceIds, details);
+        logger.info("Lot soumis ! Hash: {}", transactionHash);
+
+        long now = System.currentTimeMillis();
+        for (AuditDto dto : auditDtos) {
+            dto.setTransactionHash(transactionHash);
+            dto.setTimestamp(now);
+        }
+        return auditDtos;
+    }
+
+    private String buildDetails(AuditDto auditDto) {
+        String detailsToSend = auditDto.getDetails() != null ? auditDto.getDetails() : "N/A";
+        if (auditDto.getDataHash() != null && !auditDto.getDataHash().isEmpty()) {
+            detailsToSend = "HASH:" + auditDto.getDataHash() + "|" + detailsToSend;
+        }
+        return detailsToSend;
+    }
+
+    /**
+     * Récupère tout l'historique depuis l'index local (ordre de la chaîne).
+     * L'index est alimenté en continu par {@link AuditLogIndexer}.
+     */
+    public List<AuditDto> getAllLogs() {
+        return toDtos(entryRepository.findAllByOrderByBlockNumberAscLogIndexAsc());
+    }
+
+    /**
+     * Page de logs après le curseur "bloc:position" (null = début de la chaîne).
+     * L'ordre est celui de la chaîne, donc stable pendant que l'index grossit.
+     */
+    public AuditLogPage getLogsPage(String after, int limit) {
+        long block = -1;
+        int logIndex = -1;
+        if (after != null && !after.isBlank()) {
+            String[] parts = after.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Curseur invalide (attendu bloc:position) : " + after);
+            }
+            try {
+                block = Long.parseLong(parts[0]);
+                logIndex = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Curseur invalide (attendu bloc:position) : " + after);
             }
-        } catch (Exception e) {
-            logger.error("Erreur lecture logs blockchain : ", e);
         }
-        
-        return results;
+
+        List<AuditLogEntry> entries = entryRepository.findPageAfter(block, logIndex, PageRequest.of(0, limit));
+        String nextCursor = null;
+        if (entries.size() == limit) {
+            AuditLogEntry last = entries.get(entries.size() - 1);
+            nextCursor = last.getBlockNumber() + ":" + last.getLogIndex();
+        }
+        return new AuditLogPage(toDtos(entries), nextCursor);
     }
 
+    /**
+     * Logs d'un patient : index local (ID en clair ou son topic keccak) complété
+     * par les blocs pas encore indexés, filtrés côté nœud sur le topic resourceId.
+     */
     public List<AuditDto> getLogsByPatient(String patientId) {
-        return getAllLogs().stream()
-            .filter(log -> patientId.equals(log.getResourceId()))
-            .collect(Collectors.toList());
+        String topic = Hash.sha3String(patientId);
+        List<AuditLogEntry> entries = new ArrayList<>(
+            entryRepository.findByResourceIdInOrderByBlockNumberAscLogIndexAsc(List.of(patientId, topic)));
+        appendUnindexed(entries, null, topic);
+        for (AuditLogEntry entry : entries) {
+            if (topic.equals(entry.getResourceId())) {
+                entry.setResourceId(patientId);
+            }
+        }
+        return toDtos(entries);
     }
 
     public List<AuditDto> getLogsByUser(String userId) {
-        return getAllLogs().stream()
-            .filter(log -> userId.equals(log.getUserId()))
-            .collect(Collectors.toList());
+        String topic = Hash.sha3String(userId);
+        List<AuditLogEntry> entries = new ArrayList<>(
+            entryRepository.findByUserIdInOrderByBlockNumberAscLogIndexAsc(List.of(userId, topic)));
+        appendUnindexed(entries, topic, null);
+        for (AuditLogEntry entry : entries) {
+            if (topic.equals(entry.getUserId())) {
+                entry.setUserId(userId);
+            }
+        }
+        return toDtos(entries);
+    }
+
+    /**
+     * Dernier hash ancré pour chaque ressource (index local et, en mode
+     * ancrage, événements des lots dont la racine est confirmée). Utilisé par les jobs de
+     * re-vérification d'intégrité des microservices.
+     *
+     * @return resourceId -> dataHash ; les ressources sans hash sont absentes
+     */
+    public Map<String, String> getLatestHashes(List<String> resourceIds, List<String> actions) {
+        // Le contrat actuel indexe le keccak de l'ID
+        Map<String, String> idByKey = new HashMap<>(resourceIds.size() * 4);
+        for (String id : resourceIds) {
+            idByKey.put(id, id);
+            idByKey.put(Hash.sha3String(id), id);
+        }
+
+        Map<String, String> hashes = new HashMap<>(resourceIds.size() * 2);
+        Map<String, Long> timestamps = new HashMap<>(resourceIds.size() * 2);
+        for (AuditLogEntry entry : entryRepository.findHashedEntries(idByKey.keySet(), actions)) {
+            keepLatest(hashes, timestamps, idByKey.get(entry.getResourceId()), entry.getDataHash(), entry.getTimestamp());
+        }
+        for (AnchoredEvent event : anchoredEventRepository.findConfirmedHashedEvents(resourceIds, actions)) {
+            keepLatest(hashes, timestamps, event.getResourceId(), event.getDataHash(), event.getTimestamp());
+        }
+        return hashes;
+    }
+
+    private void keepLatest(Map<String, String> hashes, Map<String, Long> timestamps,
+                            String resourceId, String dataHash, Long timestamp) {
+        long ts = timestamp != null ? timestamp : 0L;
+        Long current = timestamps.get(resourceId);
+        // Ordre de la chaîne en cas d'égalité (même bloc) : le dernier lu gagne
+        if (current == null || ts >= current) {
+            hashes.put(resourceId, dataHash);
+            timestamps.put(resourceId, ts);
+        }
+    }
+
+    /**
+     * Ajoute les logs récents que l'indexeur n'a pas encore rattrapés.
+     * Un log indexé entre-temps n'est pas ajouté deux fois.
+     */
+    private void appendUnindexed(List<AuditLogEntry> entries, String userTopic, String resourceTopic) {
+        try {
+            Set<String> known = new HashSet<>();
+            for (AuditLogEntry entry : entries) {
+                known.add(entry.getBlockNumber() + ":" + entry.getLogIndex());
+            }
+            for (AuditLogEntry entry : auditLogIndexer.fetchUnindexed(userTopic, resourceTopic)) {
+                if (known.add(entry.getBlockNumber() + ":" + entry.getLogIndex())) {
+                    entries.add(entry);
+                }
+            }
+        } catch (Exception e) {
+            // Nœud indisponible : l'index local reste la source de vérité
+            logger.warn("Lecture des blocs non indexés impossible : {}", e.getMessage());
+        }
+    }
+
+    private List<AuditDto> toDtos(List<AuditLogEntry> entries) {
+        List<AuditDto> results = new ArrayList<>(entries.size());
+        for (AuditLogEntry entry : entries) {
+            results.add(toDto(entry));
+        }
+        return results;
+    }
+
+    static AuditDto toDto(AuditLogEntry entry) {
+        return new AuditDto(
+            entry.getUserId(),
+            entry.getAction(),
+            entry.getResourceId(),
+            entry.getDetails(),
+            entry.getTimestamp(),
+            entry.getTransactionHash(),
+            entry.getDataHash()
+        );
     }
 
     /**
@@ -0,0 +1,88 @@
+package com.hospital.audit.service;
+
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arbre de Merkle keccak256 construit sur les feuilles d'une fenêtre d'ancrage.
+ *
+ * Feuilles et noeuds internes sont préfixés (0x00 / 0x01) pour qu'une feuille
+ * ne puisse pas se faire passer pour un noeud interne. Un noeud sans frère
+ * remonte tel quel au niveau supérieur.
+ */
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private final List<List<byte[]>> levels = new ArrayList<>();
+
+    public MerkleTree(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("Un arbre de Merkle nécessite au moins une feuille");
+        }
+        List<byte[]> level = leaves;
+        levels.add(level);
+        while (level.size() > 1) {
+            List<byte[]> parent = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                parent.add(i + 1 < level.size() ? hashNode(level.get(i), level.get(i + 1)) : level.get(i));
+            }
+            levels.add(parent);
+            level = parent;
+        }
+    }
+
+    public byte[] root() {
+        return levels.get(levels.size() - 1).get(0);
+    }
+
+    /**
+     * Preuve de la feuille {@code index} : frères successifs jusqu'à la racine,
+     * préfixés par leur côté ("L:" à gauche, "R:" à droite).
+     */
+    public List<String> proof(int index) {
+        List<String> proof = new ArrayList<>();
+        for (int depth = 0; depth < levels.size() - 1; depth++) {
+            List<byte[]> level = levels.get(depth);
+            int sibling = index ^ 1;
+            if (sibling < level.size()) {
+                proof.add((sibling < index ? "L:" : "R:") + Numeric.toHexString(level.get(sibling)));
+            }
+            index /= 2;
+        }
+        return proof;
+    }
+
+    /**
+     * Recalcule la racine à partir d'une feuille et de sa preuve.
+     */
+    public static boolean verify(String leafHash, List<String> proof, String expectedRoot) {
+        byte[] current = Numeric.hexStringToByteArray(leafHash);
+        for (String step : proof) {
+            byte[] sibling = Numeric.hexStringToByteArray(step.substring(2));
+            current = step.startsWith("L:") ? hashNode(sibling, current) : hashNode(current, sibling);
+        }
+        return Numeric.toHexString(current).equalsIgnoreCase(expectedRoot);
+    }
+
+    public static byte[] hashLeaf(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        byte[] input = new byte[data.length + 1];
+        input[0] = LEAF_PREFIX;
+        System.arraycopy(data, 0, input, 1, data.length);
+        return Hash.sha3(input);
+    }
+
+    private static byte[] hashNode(byte[] left, byte[] right) {
+        byte[] input = new byte[1 + left.length + right.length];
+        input[0] = NODE_PREFIX;
+        System.arraycopy(left, 0, input, 1, left.length);
+        System.arraycopy(right, 0, input, 1 + left.length, right.length);
+        return Hash.sha3(input);
+    }
+}
@@ -0,0 +1,99 @@
+package com.hospital.audit.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Allocation locale des nonces, un compteur par wallet.
+ *
+ * Le compteur est initialisé une seule fois depuis le nœud (nombre de
+ * transactions PENDING) puis incrémenté en mémoire : plusieurs threads
+ * peuvent signer en parallèle sans aller-retour RPC ni collision.
+ * En cas de refus par le nœud, {@link #resync(String)} réaligne le compteur.
+ *
+ * Un nonce réservé reste "en vol" jusqu'à {@link #release(String, BigInteger)},
+ * appelé par l'émetteur une fois l'envoi terminé (réussi ou non). Réservation,
+ * libération et resynchronisation prennent le même verrou (celui du wallet) :
+ * la resynchronisation ne redescend jamais sous un nonce en vol, sinon deux
+ * transactions pourraient partir avec le même nonce.
+ */
+@Service
+public class NonceManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(NonceManager.class);
+
+    private final Web3j web3j;
+    private final Map<String, WalletNonces> nonces = new ConcurrentHashMap<>();
+
+    public NonceManager(Web3j web3j) {
+        this.web3j = web3j;
+    }
+
+    /**
+     * Réserve le prochain nonce du wallet. L'appelant doit le libérer
+     * avec {@link #release(String, BigInteger)} après l'envoi.
+     */
+    public BigInteger next(String address) throws IOException {
+        WalletNonces wallet = nonces.computeIfAbsent(address, a -> new WalletNonces());
+        synchronized (wallet) {
+            if (!wallet.initialized) {
+                wallet.next = fetchPendingCount(address);
+                wallet.initialized = true;
+            }
+            long nonce = wallet.next++;
+            wallet.inFlight.add(nonce);
+            return BigInteger.valueOf(nonce);
+        }
+    }
+
+    /**
+     * Le nonce a été envoyé au nœud (ou l'envoi a échoué) : il n'est plus en vol.
+     */
+    public void release(String address, BigInteger nonce) {
+        WalletNonces wallet = nonces.get(address);
+        if (wallet != null) {
+            synchronized (wallet) {
+                wallet.inFlight.remove(nonce.longValue());
+            }
+        }
+    }
+
+    /**
+     * Relit le nonce depuis le nœud (après un "nonce too low", un
+     * redémarrage de Ganache ou un envoi échoué qui a laissé un trou).
+     * Le compteur devient max(pending, plus haut nonce en vol + 1) ; la lecture
+     * se fait sous le verrou pour qu'aucun nonce ne soit réservé ou libéré entre-temps.
+     */
+    public void resync(String address) throws IOException {
+        WalletNonces wallet = nonces.computeIfAbsent(address, a -> new WalletNonces());
+        synchronized (wallet) {
+            long pending = fetchPendingCount(address);
+            long resynced = wallet.inFlight.isEmpty() ? pending : Math.max(pending, wallet.inFlight.last() + 1);
+            wallet.next = resynced;
+            wallet.initialized = true;
+            logger.warn("Nonce du wallet {} resynchronisé à {} (pending {}, {} en vol)",
+                address, resynced, pending, wallet.inFlight.size());
+        }
+    }
+
+    private long fetchPendingCount(String address) throws IOException {
+        return web3j.ethGetTransactionCount(address, DefaultBlockParameterName.PENDING)
+            .send().getTransactionCount().longValue();
+    }
+
+    /** État d'un wallet, protégé par son propre moniteur. */
+    private static final class WalletNonces {
+        private boolean initialized;
+        private long next;
+        private final TreeSet<Long> inFlight = new TreeSet<>();
+    }
+}
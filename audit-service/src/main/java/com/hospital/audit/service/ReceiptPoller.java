@@ -0,0 +1,82 @@
+package com.hospital.audit.service;
+
+import com.hospital.audit.model.AuditTransaction;
+import com.hospital.audit.repository.AuditTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Confirme les transactions soumises par {@link TransactionSubmitter}.
+ * Les reçus de toutes les transactions en attente sont demandés dans une
+ * seule requête JSON-RPC groupée à chaque passage.
+ */
+@Service
+public class ReceiptPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReceiptPoller.class);
+
+    private final Web3j web3j;
+    private final AuditTransactionRepository transactionRepository;
+
+    @Value("${audit.tx.poll-batch-size:200}")
+    private int pollBatchSize;
+
+    @Value("${audit.tx.drop-timeout-ms:600000}")
+    private long dropTimeoutMs;
+
+    public ReceiptPoller(Web3j web3j, AuditTransactionRepository transactionRepository) {
+        this.web3j = web3j;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.tx.poll-interval-ms:1000}")
+    public void pollReceipts() {
+        List<AuditTransaction> pending = transactionRepository.findByStatusOrderBySubmittedAtAsc(
+            AuditTransaction.STATUS_PENDING, PageRequest.of(0, pollBatchSize));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            BatchRequest batch = web3j.newBatch();
+            for (AuditTransaction tx : pending) {
+                batch.add(web3j.ethGetTransactionReceipt(tx.getTransactionHash()));
+            }
+            BatchResponse response = batch.send();
+
+            List<? extends Response<?>> responses = response.getResponses();
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < pending.size(); i++) {
+                AuditTransaction tx = pending.get(i);
+                Optional<TransactionReceipt> receipt = ((EthGetTransactionReceipt) responses.get(i)).getTransactionReceipt();
+                if (receipt.isPresent()) {
+                    TransactionReceipt r = receipt.get();
+                    tx.setStatus(r.isStatusOK() ? AuditTransaction.STATUS_CONFIRMED : AuditTransaction.STATUS_FAILED);
+                    tx.setBlockNumber(r.getBlockNumber().longValue());
+                    tx.setGasUsed(r.getGasUsed().longValue());
+                    tx.setConfirmedAt(now);
+                    logger.info("Transaction {} minée (bloc {}) : {}", tx.getTransactionHash(), tx.getBlockNumber(), tx.getStatus());
+                } else if (now - tx.getSubmittedAt() > dropTimeoutMs) {
+                    tx.setStatus(AuditTransaction.STATUS_DROPPED);
+                    logger.warn("Transaction {} sans reçu après {} ms : abandonnée", tx.getTransactionHash(), dropTimeoutMs);
+                }
+            }
+            transactionRepository.saveAll(pending);
+        } catch (Exception e) {
+            logger.error("Erreur de récupération des reçus : {}", e.getMessage());
+        }
+    }
+}
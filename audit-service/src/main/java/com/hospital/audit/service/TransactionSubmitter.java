@@ -0,0 +1,128 @@
+package com.hospital.audit.service;
+
+import com.hospital.audit.contract.MedicalAudit;
+import com.hospital.audit.model.AuditTransaction;
+import com.hospital.audit.repository.AuditTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.tx.gas.ContractGasProvider;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Soumission non bloquante des transactions d'audit.
+ *
+ * Les transactions sont signées localement par un wallet du {@link WalletPool}
+ * avec un nonce alloué par {@link NonceManager}, puis envoyées via
+ * eth_sendRawTransaction : le hash est rendu dès que le nœud a accepté la
+ * transaction, sans attendre le minage. La confirmation est assurée à part
+ * par {@link ReceiptPoller}.
+ */
+@Service
+public class TransactionSubmitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSubmitter.class);
+
+    private final Web3j web3j;
+    private final WalletPool walletPool;
+    private final NonceManager nonceManager;
+    private final ContractGasProvider gasProvider;
+    private final AuditTransactionRepository transactionRepository;
+
+    @Value("${web3j.contract-address}")
+    private String contractAddress;
+
+    public TransactionSubmitter(Web3j web3j,
+                                WalletPool walletPool,
+                                NonceManager nonceManager,
+                                ContractGasProvider gasProvider,
+                                AuditTransactionRepository transactionRepository) {
+        this.web3j = web3j;
+        this.walletPool = walletPool;
+        this.nonceManager = nonceManager;
+        this.gasProvider = gasProvider;
+        this.transactionRepository = transactionRepository;
+    }
+
+    public String submitLogAction(String userId, String action, String resourceId, String details) throws IOException {
+        Function function = new Function(
+            MedicalAudit.FUNC_LOGACTION,
+            Arrays.<Type>asList(new Utf8String(userId), new Utf8String(action),
+                new Utf8String(resourceId), new Utf8String(details)),
+            Collections.<TypeReference<?>>emptyList());
+        return submit(function, 1);
+    }
+
+    public String submitLogActions(List<String> userIds, List<String> actions,
+                                   List<String> resourceIds, List<String> details) throws IOException {
+        Function function = new Function(
+            MedicalAudit.FUNC_LOGACTIONS,
+            Arrays.<Type>asList(
+                new DynamicArray<>(Utf8String.class, Utils.typeMap(userIds, Utf8String.class)),
+                new DynamicArray<>(Utf8String.class, Utils.typeMap(actions, Utf8String.class)),
+                new DynamicArray<>(Utf8String.class, Utils.typeMap(resourceIds, Utf8String.class)),
+                new DynamicArray<>(Utf8String.class, Utils.typeMap(details, Utf8String.class))),
+            Collections.<TypeReference<?>>emptyList());
+        return submit(function, userIds.size());
+    }
+
+    /**
+     * Signe et envoie la transaction. Aucun verrou pendant l'envoi : le nonce
+     * est réservé sous le verrou court du wallet, les appels concurrents partent
+     * en parallèle. Le nonce est libéré dès que l'envoi est terminé.
+     */
+    private String submit(Function function, int eventCount) throws IOException {
+        Credentials wallet = walletPool.next();
+        BigInteger nonce = nonceManager.next(wallet.getAddress());
+
+        EthSendTransaction response;
+        try {
+            RawTransaction rawTransaction = RawTransaction.createTransaction(
+                nonce,
+                gasProvider.getGasPrice(function.getName()),
+                gasProvider.getGasLimit(function.getName()),
+                contractAddress,
+                FunctionEncoder.encode(function));
+            String signed = Numeric.toHexString(TransactionEncoder.signMessage(rawTransaction, wallet));
+            response = web3j.ethSendRawTransaction(signed).send();
+        } catch (IOException | RuntimeException e) {
+            // Nonce réservé mais peut-être jamais reçu par le nœud : réalignement
+            nonceManager.release(wallet.getAddress(), nonce);
+            nonceManager.resync(wallet.getAddress());
+            throw e;
+        }
+        nonceManager.release(wallet.getAddress(), nonce);
+        if (response.hasError()) {
+            // Nonce désynchronisé (redémarrage du nœud, autre émetteur) ou trou laissé par un échec
+            nonceManager.resync(wallet.getAddress());
+            throw new IllegalStateException("Transaction refusée par le nœud : " + response.getError().getMessage());
+        }
+
+        String transactionHash = response.getTransactionHash();
+        transactionRepository.save(new AuditTransaction(
+            transactionHash, wallet.getAddress(), nonce.longValue(), eventCount));
+
+        logger.info("Transaction soumise (wallet {}, nonce {}, {} événement(s)) : {}",
+            wallet.getAddress(), nonce, eventCount, transactionHash);
+        return transactionHash;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hospital.audit.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.web3j.crypto.Credentials;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wallets de signature utilisés à tour de rôle.
+ * Chaque wallet a sa propre suite de nonces : avec N wallets, N fois plus
+ * de transactions peuvent être en attente de minage simultanément.
+ */
+@Service
+public class WalletPool {
+
+    private final List<Credentials> wallets = new ArrayList<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public WalletPool(@Value("${web3j.wallet-private-keys:${web3j.wallet-private-key}}") List<String> privateKeys) {
+        for (String key : privateKeys) {
+            if (!key.isBlank()) {
+                wallets.add(Credentials.create(key.trim()));
+            }
+        }
+        if (wallets.isEmpty()) {
+            throw new IllegalStateException("Aucune clé privée configurée (web3j.wallet-private-keys)");
+        }
+    }
+
+    public Credentials next() {
+        return wallets.get(Math.floorMod(cursor.getAndIncrement(), wallets.size()));
+    }
+
+    public int size() {
+        return wallets.size();
+    }
+}
@@ -15,6 +15,18 @@ const getAllLogs = async () => {
     }
 };
 
+// Pagination par curseur : passer le nextCursor de la page précédente (null pour la première)
+const getLogsPage = async (after = null, limit = 100) => {
+    try {
+        const params = after ? { after, limit } : { limit };
+        const response = await axios.get(`${API_URL}/logs/page`, { params });
+        return response.data;
+    } catch (error) {
+        console.error("Error fetching logs page", error);
+        throw error;
+    }
+};
+
 const getLogsByPatient = async (patientId) => {
     if (!patientId) return [];
     try {
@@ -37,8 +49,19 @@ const getLogsByUser = async (userId) => {
     }
 };
 
+// Flux temps réel (SSE) : onLog est appelé pour chaque nouveau log.
+// Retourne une fonction de désinscription à appeler au démontage du composant.
+const subscribeToLogs = (onLog) => {
+    const source = new EventSource(`${API_URL}/logs/live`);
+    source.addEventListener('audit-log', (event) => onLog(JSON.parse(event.data)));
+    source.onerror = (error) => console.error("Live audit feed error", error);
+    return () => source.close();
+};
+
 export default {
     getAllLogs,
+    getLogsPage,
     getLogsByPatient,
-    getLogsByUser
+    getLogsByUser,
+    subscribeToLogs
 };
@@ -12,6 +12,20 @@ const PatientService = {
         }
     },
 
+    // Keyset pagination: pass back nextCursor as "after"; sort is "id" or "lastName"
+    getPatientsPage: async (after = null, limit = 50, sort = 'id') => {
+        try {
+            const params = new URLSearchParams({ sort, limit });
+            if (after) params.append('after', after);
+            const response = await fetch(`${API_URL}/page?${params}`);
+            if (!response.ok) throw new Error('Network response was not ok');
+            return await response.json();
+        } catch (error) {
+            console.error("Error fetching patients page:", error);
+            return { items: [], nextCursor: null };
+        }
+    },
+
     createPatient: async (patient) => {
         try {
             const response = await fetch(API_URL, {
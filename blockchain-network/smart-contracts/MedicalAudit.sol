@@ -49,7 +49,39 @@ contract MedicalAudit {
         string memory _resourceId,
         string memory _dataHash
     ) public {
-        
+        _logAction(_userId, _action, _resourceId, _dataHash);
+    }
+
+    /**
+     * @dev Enregistre plusieurs actions en une seule transaction.
+     * Amortit le coût fixe d'une transaction (gaz de base, signature, minage)
+     * lors des imports massifs. Un événement AuditLogCreated est émis par entrée.
+     * Les quatre tableaux doivent avoir la même longueur (entrée i = colonne i).
+     */
+    function logActions(
+        string[] memory _userIds,
+        string[] memory _actions,
+        string[] memory _resourceIds,
+        string[] memory _dataHashes
+    ) public {
+        require(
+            _userIds.length == _actions.length &&
+            _userIds.length == _resourceIds.length &&
+            _userIds.length == _dataHashes.length,
+            "Array length mismatch"
+        );
+
+        for (uint256 i = 0; i < _userIds.length; i++) {
+            _logAction(_userIds[i], _actions[i], _resourceIds[i], _dataHashes[i]);
+        }
+    }
+
+    function _logAction(
+        string memory _userId,
+        string memory _action,
+        string memory _resourceId,
+        string memory _dataHash
+    ) internal {
         // Création du log
         // Note: block.timestamp est l'heure du bloc (infalsifiable)
         Log memory newLog = Log({
@@ -0,0 +1,16 @@
+package com.hospital.common.integrity;
+
+/**
+ * Writes the fields of an entity, in a fixed order, to a {@link CanonicalWriter}.
+ *
+ * One implementation per entity. The field order is part of the hash format:
+ * reordering, adding or removing fields changes every hash, so such changes
+ * must come with a new {@link CanonicalWriter#FORMAT_VERSION}.
+ *
+ * @param <T> entity type
+ */
+@FunctionalInterface
+public interface CanonicalSerializer<T> {
+
+    void write(T entity, CanonicalWriter out);
+}
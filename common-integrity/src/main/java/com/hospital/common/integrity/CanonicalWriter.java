@@ -0,0 +1,168 @@
+package com.hospital.common.integrity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                           CANONICAL WRITER                                   ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Builds a deterministic binary form of an entity for hashing. Unlike         ║
+ * ║  toString(), it does not depend on Lombok output, field declaration order    ║
+ * ║  or locale, and two different field sets can never produce the same bytes:   ║
+ * ║    - each value starts with a type tag (or a NULL tag)                       ║
+ * ║    - strings are length-prefixed UTF-8                                       ║
+ * ║    - numbers and dates are fixed-width big-endian                            ║
+ * ║                                                                              ║
+ * ║  Instances are reused per thread (see {@link IntegrityHasher}): the buffer   ║
+ * ║  only grows, so steady-state hashing does not allocate.                      ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class CanonicalWriter {
+
+    /** Written first, so the format can evolve without ambiguity. */
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_DATE = 4;
+    private static final byte TAG_DATE_TIME = 5;
+
+    private byte[] buffer = new byte[512];
+    private int size;
+
+    CanonicalWriter reset() {
+        size = 0;
+        writeByte(FORMAT_VERSION);
+        return this;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int size() {
+        return size;
+    }
+
+    public CanonicalWriter string(String value) {
+        if (value == null) {
+            return writeNull();
+        }
+        writeByte(TAG_STRING);
+        int lengthPosition = size;
+        ensureCapacity(4);
+        size += 4;
+        int start = size;
+        writeUtf8(value);
+        int length = size - start;
+        buffer[lengthPosition] = (byte) (length >>> 24);
+        buffer[lengthPosition + 1] = (byte) (length >>> 16);
+        buffer[lengthPosition + 2] = (byte) (length >>> 8);
+        buffer[lengthPosition + 3] = (byte) length;
+        return this;
+    }
+
+    public CanonicalWriter longValue(Long value) {
+        if (value == null) {
+            return writeNull();
+        }
+        writeByte(TAG_LONG);
+        writeLong(value);
+        return this;
+    }
+
+    public CanonicalWriter intValue(Integer value) {
+        return longValue(value == null ? null : value.longValue());
+    }
+
+    public CanonicalWriter bool(Boolean value) {
+        if (value == null) {
+            return writeNull();
+        }
+        writeByte(TAG_BOOLEAN);
+        writeByte(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /** Enums are written by name, like {@code @Enumerated(EnumType.STRING)}. */
+    public CanonicalWriter enumValue(Enum<?> value) {
+        return string(value == null ? null : value.name());
+    }
+
+    public CanonicalWriter date(LocalDate value) {
+        if (value == null) {
+            return writeNull();
+        }
+        writeByte(TAG_DATE);
+        writeLong(value.toEpochDay());
+        return this;
+    }
+
+    public CanonicalWriter dateTime(LocalDateTime value) {
+        if (value == null) {
+            return writeNull();
+        }
+        writeByte(TAG_DATE_TIME);
+        writeLong(value.toLocalDate().toEpochDay());
+        writeLong(value.toLocalTime().toNanoOfDay());
+        return this;
+    }
+
+    private CanonicalWriter writeNull() {
+        writeByte(TAG_NULL);
+        return this;
+    }
+
+    private void writeByte(byte b) {
+        ensureCapacity(1);
+        buffer[size++] = b;
+    }
+
+    private void writeLong(long v) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (v >>> shift);
+        }
+    }
+
+    /** UTF-8 straight into the buffer, without the byte[] of String.getBytes(). */
+    private void writeUtf8(String s) {
+        ensureCapacity(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer[size++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[size++] = (byte) (0xc0 | (c >>> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer[size++] = (byte) (0xf0 | (cp >>> 18));
+                buffer[size++] = (byte) (0x80 | ((cp >>> 12) & 0x3f));
+                buffer[size++] = (byte) (0x80 | ((cp >>> 6) & 0x3f));
+                buffer[size++] = (byte) (0x80 | (cp & 0x3f));
+            } else {
+                if (Character.isSurrogate(c)) {
+                    c = '?'; // Lone surrogate: same replacement as String.getBytes(UTF_8)
+                    buffer[size++] = (byte) c;
+                    continue;
+                }
+                buffer[size++] = (byte) (0xe0 | (c >>> 12));
+                buffer[size++] = (byte) (0x80 | ((c >>> 6) & 0x3f));
+                buffer[size++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
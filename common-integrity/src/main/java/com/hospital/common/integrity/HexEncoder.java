@@ -0,0 +1,28 @@
+package com.hospital.common.integrity;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                              HEX ENCODER                                     ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Lowercase hex encoding through a lookup table: one char[] per call instead  ║
+ * ║  of one String per byte (Integer.toHexString).                               ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class HexEncoder {
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private HexEncoder() {
+    }
+
+    public static String encode(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            out[2 * i] = DIGITS[b >>> 4];
+            out[2 * i + 1] = DIGITS[b & 0x0f];
+        }
+        return new String(out);
+    }
+}
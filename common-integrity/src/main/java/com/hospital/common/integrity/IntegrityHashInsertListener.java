@@ -0,0 +1,74 @@
+package com.hospital.common.integrity;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                      INTEGRITY HASH INSERT LISTENER                          ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  The hash covers the id, and a new row only has its id once persisted:       ║
+ * ║  hashing after save() leaves the insert state without the hash, and the      ║
+ * ║  flush sends an INSERT followed by an UPDATE of the same row.                ║
+ * ║                                                                              ║
+ * ║  Hibernate calls this listener right before the INSERT, with the id          ║
+ * ║  assigned (sequence ids only). The hash is written to the entity and to      ║
+ * ║  the insert state, so the row is written once, hash included.                ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class IntegrityHashInsertListener<T> implements PreInsertEventListener {
+
+    private final Class<T> entityType;
+    private final String hashProperty;
+    private final CanonicalSerializer<T> serializer;
+    private final BiConsumer<T, String> hashSetter;
+
+    /**
+     * @param hashProperty name of the mapped attribute holding the hash
+     * @param hashSetter   writes the hash to the entity (its setter)
+     */
+    public IntegrityHashInsertListener(Class<T> entityType, String hashProperty,
+                                       CanonicalSerializer<T> serializer, BiConsumer<T, String> hashSetter) {
+        this.entityType = entityType;
+        this.hashProperty = hashProperty;
+        this.serializer = serializer;
+        this.hashSetter = hashSetter;
+    }
+
+    /**
+     * Appends this listener to the pre-insert listeners of the session factory behind {@code entityManagerFactory}.
+     */
+    public IntegrityHashInsertListener<T> register(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.PRE_INSERT, this);
+        return this;
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (!entityType.isInstance(event.getEntity())) {
+            return false;
+        }
+        T entity = entityType.cast(event.getEntity());
+        String hash = IntegrityHasher.hash(entity, serializer);
+        hashSetter.accept(entity, hash);
+
+        int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf(hashProperty);
+        if (index < 0) {
+            throw new IllegalStateException(entityType.getSimpleName() + " has no mapped property " + hashProperty);
+        }
+        event.getState()[index] = hash;
+        // false: do not veto the insert
+        return false;
+    }
+}
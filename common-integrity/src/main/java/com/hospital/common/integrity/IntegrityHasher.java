@@ -0,0 +1,57 @@
+package com.hospital.common.integrity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                           INTEGRITY HASHER                                   ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Single entry point for the integrity hashes anchored in the audit trail.    ║
+ * ║  SHA-256 over the canonical form of the entity, hex encoded.                 ║
+ * ║                                                                              ║
+ * ║  The MessageDigest and the CanonicalWriter are reused per thread, so a hash  ║
+ * ║  costs one digest pass and one String, even at high write volume.            ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class IntegrityHasher {
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(IntegrityHasher::newDigest);
+    private static final ThreadLocal<CanonicalWriter> WRITER = ThreadLocal.withInitial(CanonicalWriter::new);
+
+    private IntegrityHasher() {
+    }
+
+    /**
+     * Hex SHA-256 of the canonical form of {@code entity}.
+     */
+    public static <T> String hash(T entity, CanonicalSerializer<T> serializer) {
+        CanonicalWriter writer = WRITER.get().reset();
+        serializer.write(entity, writer);
+
+        MessageDigest digest = DIGEST.get();
+        digest.update(writer.buffer(), 0, writer.size());
+        return HexEncoder.encode(digest.digest());
+    }
+
+    /**
+     * Hex SHA-256 of {@code entity.toString()}: the hash stored before the canonical
+     * format existed. Only used to verify rows written back then, never to write one.
+     */
+    public static String legacyHash(Object entity) {
+        MessageDigest digest = DIGEST.get();
+        digest.update(entity.toString().getBytes(StandardCharsets.UTF_8));
+        return HexEncoder.encode(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM must provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
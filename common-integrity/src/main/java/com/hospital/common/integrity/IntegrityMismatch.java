@@ -0,0 +1,50 @@
+package com.hospital.common.integrity;
+
+/**
+ * One row whose integrity could not be confirmed.
+ */
+public final class IntegrityMismatch {
+
+    public enum Kind {
+        /** The stored integrity hash no longer matches the row content. */
+        TAMPERED,
+        /** The row is consistent but its hash differs from the latest one on the audit chain. */
+        CHAIN_MISMATCH,
+        /** No hash for this row was ever anchored on the audit chain. */
+        MISSING_ON_CHAIN
+    }
+
+    private final String resourceId;
+    private final Kind kind;
+    private final String storedHash;
+    private final String computedHash;
+    private final String chainHash;
+
+    public IntegrityMismatch(String resourceId, Kind kind, String storedHash, String computedHash, String chainHash) {
+        this.resourceId = resourceId;
+        this.kind = kind;
+        this.storedHash = storedHash;
+        this.computedHash = computedHash;
+        this.chainHash = chainHash;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getStoredHash() {
+        return storedHash;
+    }
+
+    public String getComputedHash() {
+        return computedHash;
+    }
+
+    public String getChainHash() {
+        return chainHash;
+    }
+}
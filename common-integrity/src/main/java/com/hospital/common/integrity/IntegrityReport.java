@@ -0,0 +1,85 @@
+package com.hospital.common.integrity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a verification run: counters for the whole table and the first
+ * {@code maxReported} mismatches (a tampered table must not blow up the heap).
+ */
+public final class IntegrityReport {
+
+    private final int maxReported;
+    private final List<IntegrityMismatch> mismatches = new ArrayList<>();
+    private long scanned;
+    private long verified;
+    private long legacyFormat;
+    private long tampered;
+    private long chainMismatch;
+    private long missingOnChain;
+    private long durationMs;
+
+    public IntegrityReport(int maxReported) {
+        this.maxReported = maxReported;
+    }
+
+    void recordVerified() {
+        scanned++;
+        verified++;
+    }
+
+    /** Verified against a hash stored before the canonical format (see IntegrityHasher#legacyHash). */
+    void recordVerifiedLegacy() {
+        recordVerified();
+        legacyFormat++;
+    }
+
+    void record(IntegrityMismatch mismatch) {
+        scanned++;
+        switch (mismatch.getKind()) {
+            case TAMPERED -> tampered++;
+            case CHAIN_MISMATCH -> chainMismatch++;
+            case MISSING_ON_CHAIN -> missingOnChain++;
+        }
+        if (mismatches.size() < maxReported) {
+            mismatches.add(mismatch);
+        }
+    }
+
+    void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+
+    public long getVerified() {
+        return verified;
+    }
+
+    /** Verified rows whose stored hash predates the canonical format. */
+    public long getLegacyFormat() {
+        return legacyFormat;
+    }
+
+    public long getTampered() {
+        return tampered;
+    }
+
+    public long getChainMismatch() {
+        return chainMismatch;
+    }
+
+    public long getMissingOnChain() {
+        return missingOnChain;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public List<IntegrityMismatch> getMismatches() {
+        return mismatches;
+    }
+}
@@ -0,0 +1,150 @@
+package com.hospital.common.integrity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                          INTEGRITY VERIFIER                                  ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Re-verifies a whole table against its stored hashes and the audit chain.    ║
+ * ║                                                                              ║
+ * ║  For each keyset chunk:                                                      ║
+ * ║    1. the latest anchored hashes are fetched asynchronously                  ║
+ * ║    2. meanwhile, the canonical hashes are recomputed on a fork-join pool     ║
+ * ║    3. stored, recomputed and anchored hashes are compared                    ║
+ * ║  A stored hash that predates the canonical format is checked against the     ║
+ * ║  legacy algorithm instead, so existing rows are not reported as tampered.    ║
+ * ║  Only one chunk is held in memory, whatever the table size.                  ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class IntegrityVerifier {
+
+    /** Below this size a fork-join task hashes its slice directly. */
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final ForkJoinPool pool;
+
+    /** Audit chain lookups are blocking HTTP calls: kept off the fork-join threads. */
+    private final ExecutorService lookupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "integrity-chain-lookup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IntegrityVerifier(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Verifies every row returned by {@code nextChunk}.
+     *
+     * @param nextChunk    rows with an id greater than the argument, in id order (empty = done)
+     * @param idOf         primary key of a row
+     * @param serializer   canonical form used to recompute the hash
+     * @param storedHashOf integrity hash stored in the row
+     * @param legacyHashOf hash of the row in the format used before the canonical one (null: none)
+     * @param chainLookup  latest anchored hash per resource id for the given ids
+     * @param maxReported  maximum number of mismatches kept in the report
+     */
+    public <T> IntegrityReport verify(LongFunction<List<T>> nextChunk,
+                                      Function<T, Long> idOf,
+                                      CanonicalSerializer<T> serializer,
+                                      Function<T, String> storedHashOf,
+                                      Function<T, String> legacyHashOf,
+                                      Function<List<String>, Map<String, String>> chainLookup,
+                                      int maxReported) {
+        long start = System.currentTimeMillis();
+        IntegrityReport report = new IntegrityReport(maxReported);
+
+        long lastId = 0;
+        List<T> chunk = nextChunk.apply(lastId);
+        while (!chunk.isEmpty()) {
+            List<String> ids = new ArrayList<>(chunk.size());
+            for (T row : chunk) {
+                ids.add(String.valueOf(idOf.apply(row)));
+            }
+
+            CompletableFuture<Map<String, String>> anchored = CompletableFuture.supplyAsync(() -> chainLookup.apply(ids), lookupExecutor);
+            String[] computed = new String[chunk.size()];
+            boolean[] legacy = new boolean[chunk.size()];
+            pool.invoke(new HashTask<>(chunk, serializer, storedHashOf, legacyHashOf, computed, legacy, 0, chunk.size()));
+            Map<String, String> chainHashes = anchored.join();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                T row = chunk.get(i);
+                String id = ids.get(i);
+                String stored = storedHashOf.apply(row);
+                String chain = chainHashes.get(id);
+                if (!computed[i].equals(stored) && !legacy[i]) {
+                    report.record(new IntegrityMismatch(id, IntegrityMismatch.Kind.TAMPERED, stored, computed[i], chain));
+                } else if (chain == null) {
+                    report.record(new IntegrityMismatch(id, IntegrityMismatch.Kind.MISSING_ON_CHAIN, stored, computed[i], null));
+                } else if (!chain.equals(stored)) {
+                    report.record(new IntegrityMismatch(id, IntegrityMismatch.Kind.CHAIN_MISMATCH, stored, computed[i], chain));
+                } else if (legacy[i]) {
+                    report.recordVerifiedLegacy();
+                } else {
+                    report.recordVerified();
+                }
+            }
+
+            lastId = idOf.apply(chunk.get(chunk.size() - 1));
+            chunk = nextChunk.apply(lastId);
+        }
+
+        report.setDurationMs(System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private static final class HashTask<T> extends RecursiveAction {
+
+        private final List<T> rows;
+        private final CanonicalSerializer<T> serializer;
+        private final Function<T, String> storedHashOf;
+        private final Function<T, String> legacyHashOf;
+        private final String[] out;
+        private final boolean[] legacy;
+        private final int from;
+        private final int to;
+
+        HashTask(List<T> rows, CanonicalSerializer<T> serializer, Function<T, String> storedHashOf,
+                 Function<T, String> legacyHashOf, String[] out, boolean[] legacy, int from, int to) {
+            this.rows = rows;
+            this.serializer = serializer;
+            this.storedHashOf = storedHashOf;
+            this.legacyHashOf = legacyHashOf;
+            this.out = out;
+            this.legacy = legacy;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    T row = rows.get(i);
+                    out[i] = IntegrityHasher.hash(row, serializer);
+                    String stored = storedHashOf.apply(row);
+                    // The legacy hash is only computed for rows that fail the current format
+                    legacy[i] = legacyHashOf != null && stored != null && !out[i].equals(stored)
+                            && stored.equals(legacyHashOf.apply(row));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new HashTask<>(rows, serializer, storedHashOf, legacyHashOf, out, legacy, from, mid),
+                      new HashTask<>(rows, serializer, storedHashOf, legacyHashOf, out, legacy, mid, to));
+        }
+    }
+}
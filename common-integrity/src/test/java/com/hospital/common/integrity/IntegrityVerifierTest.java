@@ -0,0 +1,107 @@
+package com.hospital.common.integrity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rows hashed before the canonical format (SHA-256 of toString()) are still
+ * verified; a row matching neither format is reported as tampered.
+ */
+class IntegrityVerifierTest {
+
+    private static final CanonicalSerializer<Row> SERIALIZER = (row, out) -> out
+            .longValue(row.id)
+            .string(row.name);
+
+    @Test
+    void verifiesRowsHashedInTheLegacyFormat() {
+        Row current = new Row(1L, "Durand");
+        current.hash = IntegrityHasher.hash(current, SERIALIZER);
+        Row legacy = new Row(2L, "Petit");
+        legacy.hash = sha256Hex(legacy.toString());
+        Row tampered = new Row(3L, "Leroy");
+        tampered.hash = sha256Hex(new Row(3L, "Moreau").toString());
+        List<Row> rows = List.of(current, legacy, tampered);
+
+        IntegrityReport report = verify(rows);
+
+        assertThat(report.getScanned()).isEqualTo(3);
+        assertThat(report.getVerified()).isEqualTo(2);
+        assertThat(report.getLegacyFormat()).isEqualTo(1);
+        assertThat(report.getTampered()).isEqualTo(1);
+        assertThat(report.getMismatches())
+                .singleElement()
+                .satisfies(mismatch -> {
+                    assertThat(mismatch.getResourceId()).isEqualTo("3");
+                    assertThat(mismatch.getKind()).isEqualTo(IntegrityMismatch.Kind.TAMPERED);
+                });
+    }
+
+    @Test
+    void legacyRowsAreStillComparedWithTheChain() {
+        Row legacy = new Row(1L, "Petit");
+        legacy.hash = sha256Hex(legacy.toString());
+
+        IntegrityReport report = new IntegrityVerifier(1).verify(
+                afterId -> afterId == 0 ? List.of(legacy) : List.of(),
+                row -> row.id,
+                SERIALIZER,
+                row -> row.hash,
+                IntegrityHasher::legacyHash,
+                ids -> Map.of("1", "0".repeat(64)),
+                10);
+
+        assertThat(report.getLegacyFormat()).isZero();
+        assertThat(report.getChainMismatch()).isEqualTo(1);
+    }
+
+    private static IntegrityReport verify(List<Row> rows) {
+        Map<String, String> chain = rows.stream()
+                .collect(Collectors.toMap(row -> String.valueOf(row.id), row -> row.hash));
+        return new IntegrityVerifier(1).verify(
+                afterId -> rows.stream().filter(row -> row.id > afterId).toList(),
+                row -> row.id,
+                SERIALIZER,
+                row -> row.hash,
+                IntegrityHasher::legacyHash,
+                ids -> ids.stream().collect(Collectors.toMap(Function.identity(), chain::get)),
+                10);
+    }
+
+    private static String sha256Hex(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Row {
+
+        private final Long id;
+        private final String name;
+        private String hash;
+
+        Row(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        /** Same shape as the Lombok toString() the legacy hashes were computed from. */
+        @Override
+        public String toString() {
+            return "Row(id=" + id + ", name=" + name + ")";
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.hospital.common.test;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Embedded PostgreSQL for repository tests, imported by the test's own
+ * configuration (with @AutoConfigureTestDatabase(replace = NONE) and
+ * spring.flyway.enabled=false).
+ *
+ * The database is migrated with the service's classpath:db/migration scripts,
+ * filled by the {@link TestDatabaseFixture} bean if there is one and analyzed;
+ * the DataSource given to Spring records every statement ({@link StatementRecorder}).
+ */
+@Configuration(proxyBeanMethods = false)
+public class EmbeddedPostgresTestConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    public StatementRecorder statementRecorder() {
+        return new StatementRecorder();
+    }
+
+    @Bean
+    public DataSource dataSource(EmbeddedPostgres postgres, StatementRecorder recorder,
+                                 ObjectProvider<TestDatabaseFixture> fixture) throws SQLException {
+        DataSource target = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(target).locations("classpath:db/migration").load().migrate();
+        TestDatabaseFixture rows = fixture.getIfAvailable(() -> List::of);
+        try (Connection connection = target.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : rows.statements()) {
+                statement.execute(sql);
+            }
+            statement.execute("ANALYZE");
+        }
+        return recorder.wrap(target);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hospital.common.test;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Embedded PostgreSQL holding the schema of a database created before the
+ * Flyway migrations (ddl-auto: update), for upgrade tests. Imported by the
+ * test's own configuration (with @AutoConfigureTestDatabase(replace = NONE));
+ * Spring Boot's Flyway then runs on it with the service's spring.flyway settings.
+ *
+ * The schema (and a few rows) come from the service's
+ * classpath:{@value #PRE_FLYWAY_SCHEMA} test resource.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PreFlywaySchemaTestConfiguration {
+
+    public static final String PRE_FLYWAY_SCHEMA = "db/pre-flyway-schema.sql";
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    public DataSource dataSource(EmbeddedPostgres postgres) throws SQLException {
+        DataSource target = postgres.getPostgresDatabase();
+        try (Connection connection = target.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(PRE_FLYWAY_SCHEMA));
+        }
+        return target;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hospital.common.test;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan assertions on the statements recorded by {@link StatementRecorder}.
+ */
+public final class QueryPlans {
+
+    private QueryPlans() {
+    }
+
+    /**
+     * EXPLAINs every recorded statement with the same bound values (a custom
+     * plan, as the application gets on its first executions) and fails on any
+     * sequential scan.
+     */
+    public static void assertNoSequentialScan(StatementRecorder recorder, EmbeddedPostgres postgres) throws SQLException {
+        List<StatementRecorder.Recorded> statements = recorder.recorded();
+        assertThat(statements).as("statements sent by the repository").isNotEmpty();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            for (StatementRecorder.Recorded statement : statements) {
+                assertThat(explain(connection, statement)).as("plan of %s", statement.sql()).doesNotContain("Seq Scan");
+            }
+        }
+    }
+
+    public static String explain(Connection connection, StatementRecorder.Recorded statement) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            statement.bindTo(explain);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
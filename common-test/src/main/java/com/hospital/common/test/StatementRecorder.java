@@ -0,0 +1,115 @@
+package com.hospital.common.test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL and the bound values of every prepared statement sent
+ * through a DataSource, so a test can check exactly what a repository
+ * method ran (Hibernate-generated SQL, real parameter values and types).
+ */
+public final class StatementRecorder {
+
+    /** One prepared statement: its SQL and the setXxx(index, value) calls made on it. */
+    public record Recorded(String sql, List<Binding> bindings) {
+
+        /** Re-applies the recorded setXxx calls to another statement (EXPLAIN of the same query). */
+        void bindTo(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                invoke(statement, binding.setter(), binding.args());
+            }
+        }
+
+        /** First SQL keyword, lower-cased ("select", "insert", "update"...). */
+        public String kind() {
+            String trimmed = sql.stripLeading();
+            int end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+                end++;
+            }
+            return trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public record Binding(Method setter, Object[] args) {
+    }
+
+    private final List<Recorded> recorded = new CopyOnWriteArrayList<>();
+
+    public DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return method.getName().equals("getConnection") ? wrap((Connection) result) : result;
+        });
+    }
+
+    public void clear() {
+        recorded.clear();
+    }
+
+    public List<Recorded> recorded() {
+        return List.copyOf(recorded);
+    }
+
+    /** Recorded statements of one kind ("insert", "update"...), see {@link Recorded#kind()}. */
+    public List<Recorded> recorded(String kind) {
+        return recorded.stream().filter(statement -> statement.kind().equals(kind)).toList();
+    }
+
+    private Connection wrap(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("prepareStatement")) {
+                return wrap((PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Recorded on each execution, or on each addBatch() for a batched statement:
+     * one entry per row sent.
+     */
+    private PreparedStatement wrap(PreparedStatement target, String sql) {
+        List<List<Binding>> current = new ArrayList<>(List.of(new ArrayList<>()));
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                current.get(0).add(new Binding(method, args.clone()));
+            } else if (args == null && (name.equals("addBatch") || name.equals("execute")
+                    || name.equals("executeQuery") || name.equals("executeUpdate") || name.equals("executeLargeUpdate"))) {
+                recorded.add(new Recorded(sql, List.copyOf(current.get(0))));
+                current.set(0, new ArrayList<>());
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
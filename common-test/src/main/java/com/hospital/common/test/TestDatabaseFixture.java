@@ -0,0 +1,14 @@
+package com.hospital.common.test;
+
+import java.util.List;
+
+/**
+ * Rows a test needs in the embedded database, inserted once after the
+ * migrations (typically generate_series INSERTs). Declared as a bean next to
+ * {@link EmbeddedPostgresTestConfiguration}; without one the database is empty.
+ */
+@FunctionalInterface
+public interface TestDatabaseFixture {
+
+    List<String> statements();
+}
@@ -0,0 +1,78 @@
+package com.hospital.medicalrecord.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                        AUDIT OUTBOX EVENT ENTITY                             ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Transactional outbox for audit events.                                      ║
+ * ║  The event is written in the SAME database transaction as the business       ║
+ * ║  change, then shipped to the Audit Service by AuditOutboxShipper.            ║
+ * ║                                                                              ║
+ * ║  WHY an outbox?                                                              ║
+ * ║    1. Request latency no longer depends on blockchain mining time            ║
+ * ║    2. No audit event is lost when the Audit Service is down                  ║
+ * ║    3. A rolled-back business change never produces an audit event            ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Entity
+@Table(name = "audit_outbox", indexes = {
+        @Index(name = "idx_audit_outbox_next_attempt", columnList = "next_attempt_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private String action;
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Column(length = 1000)
+    private String details;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Number of failed shipping attempts (drives the retry backoff).
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * The event is not shipped before this instant.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * DEAD events are kept for inspection but no longer shipped.
+     */
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditOutboxStatus status = AuditOutboxStatus.PENDING;
+}
@@ -0,0 +1,45 @@
+-- Baseline: the schema as Hibernate (ddl-auto: update) created it.
+-- Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and skip this script; IF NOT EXISTS
+-- keeps it harmless anyway. From now on every schema change is a new V<n> script.
+
+CREATE TABLE IF NOT EXISTS medical_records (
+    id                  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient_id          bigint        NOT NULL UNIQUE,
+    allergies           varchar(1000),
+    current_medications varchar(1000),
+    chronic_conditions  varchar(1000),
+    family_history      varchar(2000),
+    created_at          timestamp(6),
+    updated_at          timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS medical_entries (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    medical_record_id bigint        NOT NULL REFERENCES medical_records (id),
+    entry_type        varchar(255)  NOT NULL,
+    entry_date        timestamp(6)  NOT NULL,
+    doctor_id         bigint        NOT NULL,
+    diagnosis         varchar(500),
+    symptoms          varchar(1000),
+    treatment         varchar(1000),
+    prescription      varchar(1000),
+    notes             varchar(2000),
+    follow_up         varchar(500),
+    created_at        timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS audit_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         varchar(255)  NOT NULL,
+    action          varchar(255)  NOT NULL,
+    resource_id     varchar(255)  NOT NULL,
+    details         varchar(1000),
+    created_at      timestamp(6)  NOT NULL,
+    attempts        integer       NOT NULL,
+    next_attempt_at timestamp(6)  NOT NULL,
+    last_error      varchar(500)
+);
+
+-- Outbox shipper: WHERE next_attempt_at <= now ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_audit_outbox_next_attempt ON audit_outbox (next_attempt_at, id);
@@ -0,0 +1,15 @@
+-- Indexes matched to the MedicalEntryRepository queries.
+-- medical_records.patient_id is already indexed by its UNIQUE constraint.
+
+-- findPatientEntriesInDateRange (record of the patient, entry_date BETWEEN ? AND ?),
+-- loading the entries of a record, and the foreign key checks of medical_records deletes
+CREATE INDEX IF NOT EXISTS idx_medical_entries_record_date
+    ON medical_entries (medical_record_id, entry_date);
+
+-- findByMedicalRecordIdAndEntryType
+CREATE INDEX IF NOT EXISTS idx_medical_entries_record_type
+    ON medical_entries (medical_record_id, entry_type);
+
+-- findByDoctorId
+CREATE INDEX IF NOT EXISTS idx_medical_entries_doctor
+    ON medical_entries (doctor_id);
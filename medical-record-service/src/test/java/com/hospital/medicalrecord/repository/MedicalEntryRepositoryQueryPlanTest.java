@@ -0,0 +1,117 @@
+package com.hospital.medicalrecord.repository;
+
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.QueryPlans;
+import com.hospital.common.test.StatementRecorder;
+import com.hospital.common.test.TestDatabaseFixture;
+import com.hospital.medicalrecord.model.EntryType;
+import com.hospital.medicalrecord.model.MedicalEntry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The medical record queries must be served by the indexes of the Flyway
+ * migrations (V2). Each test calls the repository method against an embedded
+ * PostgreSQL migrated with V1..Vn and filled with enough rows for the planner
+ * to prefer an index, then EXPLAINs the SQL it actually sent (same bound
+ * values) and rejects any sequential scan.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MedicalEntryRepositoryQueryPlanTest {
+
+    private static final int RECORDS = 20_000;
+    private static final int ENTRIES = 200_000;
+    private static final int DOCTORS = 500;
+
+    @Autowired
+    private MedicalEntryRepository medicalEntryRepository;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void findPatientEntriesInDateRangeUsesRecordDateIndex() throws SQLException {
+        medicalEntryRepository.findPatientEntriesInDateRange(1_234L,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findByMedicalRecordIdAndEntryTypeUsesRecordTypeIndex() throws SQLException {
+        medicalEntryRepository.findByMedicalRecordIdAndEntryType(1_234L, EntryType.CONSULTATION);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findByDoctorIdUsesDoctorIndex() throws SQLException {
+        medicalEntryRepository.findByDoctorId(17L);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findByPatientIdUsesUniqueIndex() throws SQLException {
+        medicalRecordRepository.findByPatientId(1_234L);
+
+        assertNoSequentialScan();
+    }
+
+    private void assertNoSequentialScan() throws SQLException {
+        QueryPlans.assertNoSequentialScan(recorder, postgres);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = MedicalEntry.class)
+    @EnableJpaRepositories(basePackageClasses = MedicalEntryRepository.class)
+    @Import(EmbeddedPostgresTestConfiguration.class)
+    static class QueryPlanConfig {
+
+        /**
+         * One record per patient, ten entries per record spread over two years.
+         */
+        @Bean
+        TestDatabaseFixture medicalRecords() {
+            return () -> List.of(
+                    "INSERT INTO medical_records (id, patient_id, created_at, updated_at)"
+                            + " SELECT i, i, timestamp '2024-01-01', timestamp '2024-01-01'"
+                            + " FROM generate_series(1, " + RECORDS + ") i",
+                    "INSERT INTO medical_entries (id, medical_record_id, entry_type, entry_date, doctor_id, created_at)"
+                            + " SELECT i, 1 + i % " + RECORDS + ","
+                            + " (ARRAY['CONSULTATION','DIAGNOSIS','PROCEDURE','PRESCRIPTION','LAB_RESULT','IMAGING',"
+                            + "'VACCINATION','ADMISSION','DISCHARGE'])[1 + i % 9],"
+                            + " timestamp '2024-01-01' + (i % 730) * interval '1 day', 1 + i % " + DOCTORS + ","
+                            + " timestamp '2024-01-01'"
+                            + " FROM generate_series(1, " + ENTRIES + ") i");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.hospital.medicalrecord.repository;
+
+import com.hospital.common.test.PreFlywaySchemaTestConfiguration;
+import com.hospital.medicalrecord.model.MedicalRecord;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrade of a database created before the Flyway migrations (ddl-auto: update,
+ * see db/pre-flyway-schema.sql): with the service's spring.flyway settings,
+ * every script from V1 must run on it (their IF NOT EXISTS guards skip what
+ * already exists) and the result must pass Hibernate's schema validation.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MedicalRecordSchemaUpgradeTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Test
+    void runsEveryMigrationOnADatabaseCreatedBeforeFlyway() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(applied[0].getType().isBaseline()).isTrue();
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("0");
+        assertThat(applied[1].getVersion().getVersion()).isEqualTo("1");
+        assertThat(Arrays.copyOfRange(applied, 1, applied.length))
+                .allMatch(migration -> migration.getState() == MigrationState.SUCCESS);
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void keepsExistingRowsAndNumbersNewOnesAfterThem() {
+        assertThat(medicalRecordRepository.count()).isEqualTo(2);
+
+        MedicalRecord saved = medicalRecordRepository.saveAndFlush(MedicalRecord.builder()
+                .patientId(3L)
+                .build());
+
+        assertThat(saved.getId()).isGreaterThan(2L);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = MedicalRecord.class)
+    @EnableJpaRepositories(basePackageClasses = MedicalRecordRepository.class)
+    @Import(PreFlywaySchemaTestConfiguration.class)
+    static class UpgradeConfig {
+    }
+}
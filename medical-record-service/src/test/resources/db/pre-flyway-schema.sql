@@ -0,0 +1,43 @@
+-- Schema of a database created before the Flyway migrations: what Hibernate
+-- (ddl-auto: update) generated for the entities of the baseline, on PostgreSQL.
+-- No audit_outbox table, bigserial ids. Used by the Flyway upgrade test.
+
+create table medical_entries (
+    created_at timestamp(6),
+    doctor_id bigint not null,
+    entry_date timestamp(6) not null,
+    id bigserial not null,
+    medical_record_id bigint not null,
+    diagnosis varchar(500),
+    follow_up varchar(500),
+    prescription varchar(1000),
+    symptoms varchar(1000),
+    treatment varchar(1000),
+    notes varchar(2000),
+    entry_type varchar(255) not null check (entry_type in ('CONSULTATION','DIAGNOSIS','PROCEDURE','PRESCRIPTION','LAB_RESULT','IMAGING','VACCINATION','ADMISSION','DISCHARGE','FOLLOW_UP')),
+    primary key (id)
+);
+
+create table medical_records (
+    created_at timestamp(6),
+    id bigserial not null,
+    patient_id bigint not null unique,
+    updated_at timestamp(6),
+    allergies varchar(1000),
+    chronic_conditions varchar(1000),
+    current_medications varchar(1000),
+    family_history varchar(2000),
+    primary key (id)
+);
+
+alter table if exists medical_entries
+   add constraint FK9domoio9m4nowntxcr2ld5p2t
+   foreign key (medical_record_id)
+   references medical_records;
+
+insert into medical_records (patient_id, allergies, created_at, updated_at)
+values (1, 'Penicillin', now(), now()),
+       (2, null, now(), now());
+insert into medical_entries (medical_record_id, entry_type, entry_date, doctor_id, diagnosis, created_at)
+values (1, 'CONSULTATION', timestamp '2025-06-01 10:00', 1, 'Seasonal allergy', now()),
+       (2, 'LAB_RESULT', timestamp '2025-07-15 08:30', 1, null, now());
@@ -0,0 +1,18 @@
+package com.hospital.patient.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+/**
+ * Calls the Appointment Service (Feign, resolved through Eureka).
+ */
+@FeignClient(name = "appointment-service", path = "/api/appointments/reference-cache")
+public interface AppointmentServiceClient {
+
+    /**
+     * Marks a deactivated patient as such in the existence cache of appointment-service.
+     */
+    @DeleteMapping("/patients/{id}")
+    void evictPatient(@PathVariable("id") Long id);
+}
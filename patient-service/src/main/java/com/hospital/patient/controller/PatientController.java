@@ -1,16 +1,30 @@
 package com.hospital.patient.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.common.integrity.IntegrityReport;
+import com.hospital.patient.dto.BulkImportResult;
 import com.hospital.patient.dto.PatientCreateRequest;
 import com.hospital.patient.dto.PatientDTO;
+import com.hospital.patient.dto.PatientPage;
+import com.hospital.patient.dto.PatientSuggestion;
+import com.hospital.patient.service.PatientImportService;
+import com.hospital.patient.service.PatientIntegrityService;
 import com.hospital.patient.service.PatientService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -36,7 +50,19 @@ import java.util.List;
 @Slf4j
 public class PatientController {
 
+    /** Largest page served, and page size used by the streamed listing. */
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /** Largest search result list served. */
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    /** Upper bound on ids per batch existence check (one IN query). */
+    private static final int MAX_EXISTS_BATCH = 1000;
+
     private final PatientService patientService;
+    private final PatientIntegrityService patientIntegrityService;
+    private final PatientImportService patientImportService;
+    private final ObjectMapper objectMapper;
 
     // ═══════════════════════════════════════════════════════════════════════════
     // CREATE OPERATIONS
@@ -58,24 +84,87 @@ public class PatientController {
         return new ResponseEntity<>(createdPatient, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports many patients in one request (clinic onboarding).
+     * The body is streamed: CSV with a header row (text/csv) or one JSON
+     * patient per line (application/x-ndjson).
+     * Existing national IDs / emails and invalid rows are skipped and counted.
+     * 
+     * @param contentType body format
+     * @param body        request body, read as a stream
+     * @return counters and rows per second of the import
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BulkImportResult> importPatients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        log.info("REST request to bulk import patients ({})", contentType);
+        // Permissions will be checked in Subject 2
+        PatientImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? PatientImportService.Format.CSV
+                : PatientImportService.Format.NDJSON;
+        return ResponseEntity.ok(patientImportService.importPatients(body, format));
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // READ OPERATIONS
     // ═══════════════════════════════════════════════════════════════════════════
 
     /**
-     * Retrieves all patients.
+     * Retrieves all active patients.
      * 
      * This endpoint is mandatory according to the Kit Commun
      * // Permissions will be checked in Subject 2
      * 
-     * @return List of all patients
+     * Same JSON array as before, but written page by page from keyset
+     * queries: memory per request stays constant whatever the table size.
+     * 
+     * @return JSON array of all active patients, in id order
      */
     @GetMapping
-    public ResponseEntity<List<PatientDTO>> getAllPatients() {
+    public ResponseEntity<StreamingResponseBody> getAllPatients() {
         log.info("REST request to get all patients");
-        // TODO: Add pagination for production use
-        List<PatientDTO> patients = patientService.getAllPatients();
-        return ResponseEntity.ok(patients);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                String cursor = null;
+                do {
+                    PatientPage page = patientService.getPatientsPage(PatientService.PatientSort.ID, cursor, MAX_PAGE_SIZE);
+                    for (PatientDTO patient : page.getItems()) {
+                        json.writeObject(patient);
+                    }
+                    json.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Retrieves active patients page by page (keyset pagination).
+     * 
+     * @param sort  "id" (default) or "lastName"
+     * @param after nextCursor of the previous page, omitted for the first page
+     * @param limit page size, capped at 500
+     * @return the page and the cursor of the next one (null on the last page)
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PatientPage> getPatientsPage(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("REST request to get patients page (sort {})", sort);
+        PatientService.PatientSort sortOrder = switch (sort) {
+            case "id" -> PatientService.PatientSort.ID;
+            case "lastName" -> PatientService.PatientSort.LAST_NAME;
+            default -> throw new IllegalArgumentException("Unsupported sort: " + sort + " (expected id or lastName)");
+        };
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(patientService.getPatientsPage(sortOrder, after, pageSize));
     }
 
     /**
@@ -111,19 +200,39 @@ public class PatientController {
     }
 
     /**
-     * Searches patients by name.
+     * Searches active patients by first name, last name or national ID.
+     * Results are ranked: exact national ID, then prefix matches, then closest names.
      * // Business logic will be added in the specialized subject
      * 
      * @param query The search query
-     * @return List of matching patients
+     * @param limit Maximum number of results (capped at 100)
+     * @return List of matching patients, best match first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<PatientDTO>> searchPatients(@RequestParam String query) {
+    public ResponseEntity<List<PatientDTO>> searchPatients(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit) {
         log.info("REST request to search patients with query: {}", query);
-        List<PatientDTO> patients = patientService.searchPatients(query);
+        List<PatientDTO> patients = patientService.searchPatients(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
         return ResponseEntity.ok(patients);
     }
 
+    /**
+     * Name autocomplete for the front desk, one call per keystroke.
+     * Served from memory, without touching the database.
+     * 
+     * @param prefix Beginning of "last first" or "first last" name
+     * @param limit Maximum number of suggestions (capped at 100)
+     * @return Matching active patients in alphabetical order
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<PatientSuggestion>> suggestPatients(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to suggest patients");
+        return ResponseEntity.ok(patientService.suggestPatients(prefix, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS))));
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     // UPDATE OPERATIONS
     // ═══════════════════════════════════════════════════════════════════════════
@@ -185,5 +294,41 @@ public class PatientController {
         boolean exists = patientService.existsById(id);
         return ResponseEntity.ok(exists);
     }
-}
 
+    /**
+     * Checks many patients at once.
+     * WHY: Callers validating N ids (bulk imports, reports) pay one round trip
+     * and one query instead of N.
+     * 
+     * @param ids The patient IDs (at most 1000)
+     * @return HTTP 200 with every requested ID mapped to true (active patient) or false
+     */
+    @PostMapping("/exists")
+    public ResponseEntity<Map<Long, Boolean>> checkPatientsExist(@RequestBody List<Long> ids) {
+        log.debug("REST request to check if {} patients exist", ids.size());
+        if (ids.size() > MAX_EXISTS_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_EXISTS_BATCH + " ids per request, got " + ids.size());
+        }
+        return ResponseEntity.ok(patientService.existsByIds(ids));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // INTEGRITY VERIFICATION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Re-verifies every patient against its stored integrity hash and the
+     * latest hash anchored in the blockchain audit trail.
+     * 
+     * @param chunkSize   rows verified per chunk
+     * @param maxReported maximum number of mismatches listed in the report
+     * @return counters and the first tampered / unanchored rows
+     */
+    @PostMapping("/integrity/verify")
+    public ResponseEntity<IntegrityReport> verifyIntegrity(
+            @RequestParam(defaultValue = "1000") int chunkSize,
+            @RequestParam(defaultValue = "1000") int maxReported) {
+        log.info("REST request to verify patient integrity");
+        return ResponseEntity.ok(patientIntegrityService.verifyAll(Math.max(1, chunkSize), Math.max(0, maxReported)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.hospital.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                          BULK IMPORT RESULT                                  ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Summary of a POST /api/patients/bulk run: what was inserted, what was       ║
+ * ║  skipped and why, and the throughput in rows per second.                     ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+
+    /** Data rows read from the body (header and blank lines excluded). */
+    private long totalRows;
+
+    /** Patients inserted. */
+    private long imported;
+
+    /** Rows skipped because the national ID or email already exists. */
+    private long duplicates;
+
+    /** Rows skipped because they could not be parsed or failed validation. */
+    private long rejected;
+
+    /** Batches committed (one transaction and one audit event each). */
+    private int batches;
+
+    private long durationMs;
+
+    /** totalRows / duration: the figure to compare between runs. */
+    private double rowsPerSecond;
+
+    /** First skipped rows, as "line N: reason" (capped). */
+    private List<String> errors;
+}
@@ -0,0 +1,29 @@
+package com.hospital.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                            PATIENT PAGE                                      ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  One keyset page of active patients.                                         ║
+ * ║  nextCursor is sent back in the "after" parameter to get the next page;      ║
+ * ║  it is null on the last page.                                                ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientPage {
+
+    private List<PatientDTO> items;
+
+    private String nextCursor;
+}
@@ -0,0 +1,28 @@
+package com.hospital.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                          PATIENT SUGGESTION                                  ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  One autocomplete entry: just enough to display the name and open the        ║
+ * ║  patient record (GET /api/patients/{id}). No other personal data.            ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSuggestion {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+}
@@ -0,0 +1,48 @@
+package com.hospital.patient.integrity;
+
+import com.hospital.common.integrity.CanonicalSerializer;
+import com.hospital.common.integrity.IntegrityHasher;
+import com.hospital.patient.model.Patient;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                          PATIENT INTEGRITY                                   ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Canonical field order of a Patient for its integrity hash.                  ║
+ * ║  createdAt / updatedAt are excluded: they are set by JPA callbacks after     ║
+ * ║  the hash is computed and would make the stored hash unverifiable.           ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class PatientIntegrity {
+
+    public static final CanonicalSerializer<Patient> SERIALIZER = (patient, out) -> out
+            .longValue(patient.getId())
+            .string(patient.getNationalId())
+            .string(patient.getFirstName())
+            .string(patient.getLastName())
+            .date(patient.getDateOfBirth())
+            .enumValue(patient.getGender())
+            .string(patient.getEmail())
+            .string(patient.getPhoneNumber())
+            .string(patient.getAddress())
+            .string(patient.getBloodType())
+            .string(patient.getEmergencyContactName())
+            .string(patient.getEmergencyContactPhone())
+            .bool(patient.getActive());
+
+    private PatientIntegrity() {
+    }
+
+    public static String hash(Patient patient) {
+        return IntegrityHasher.hash(patient, SERIALIZER);
+    }
+
+    /**
+     * Hash stored before the canonical format (SHA-256 of the Lombok toString()),
+     * only used to verify the rows written back then.
+     */
+    public static String legacyHash(Patient patient) {
+        return IntegrityHasher.legacyHash(patient);
+    }
+}
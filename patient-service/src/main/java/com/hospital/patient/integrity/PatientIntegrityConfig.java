@@ -0,0 +1,22 @@
+package com.hospital.patient.integrity;
+
+import com.hospital.common.integrity.IntegrityHashInsertListener;
+import com.hospital.patient.model.Patient;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Computes the integrity hash of a new Patient right before its INSERT (id assigned),
+ * so the row is inserted with its hash, without a follow-up UPDATE.
+ */
+@Configuration
+public class PatientIntegrityConfig {
+
+    @Bean
+    public IntegrityHashInsertListener<Patient> integrityHashInsertListener(EntityManagerFactory entityManagerFactory) {
+        return new IntegrityHashInsertListener<>(Patient.class, "integrityHash",
+                PatientIntegrity.SERIALIZER, Patient::setIntegrityHash)
+                .register(entityManagerFactory);
+    }
+}
@@ -22,7 +22,10 @@ import java.time.LocalDateTime;
  * ╚══════════════════════════════════════════════════════════════════════════════╝
  */
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        // Keyset pagination by name (PatientRepository.findActivePageAfterLastName)
+        @Index(name = "idx_patients_last_name_id", columnList = "last_name, id")
+})
 @Data                   // Lombok: Generates getters, setters, toString, equals, hashCode
 @Builder               // Lombok: Enables builder pattern for object creation
 @NoArgsConstructor     // Lombok: Generates no-args constructor (required by JPA)
@@ -32,9 +35,13 @@ public class Patient {
     /**
      * Unique identifier for the patient.
      * WHY UUID: Avoids exposing sequential IDs and allows distributed ID generation.
+     * WHY SEQUENCE (pooled by 50): the ID is known before the INSERT, so the
+     * integrity hash (which covers the ID) is stored by a single INSERT and
+     * creates can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patients_seq")
+    @SequenceGenerator(name = "patients_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -1,13 +1,17 @@
 package com.hospital.patient.repository;
 
 import com.hospital.patient.model.Patient;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -74,6 +78,15 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      */
     boolean existsByNationalId(String nationalId);
 
+    /**
+     * Checks if an active patient has the given ID.
+     * WHY: Appointment Service must not book a deactivated patient.
+     * 
+     * @param id The patient ID to check
+     * @return true if an active patient has this ID
+     */
+    boolean existsByIdAndActiveTrue(Long id);
+
     /**
      * Custom query example: Find patients by blood type.
      * Students: This shows how to write custom JPQL queries.
@@ -89,5 +102,111 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      * Required for Subject 1 (Blockchain).
      */
     List<Patient> findByActiveTrue();
-}
 
+    /**
+     * Keyset chunk: the next patients after the given id, in id order.
+     * WHY: Constant cost per chunk for full-table scans (integrity verification).
+     */
+    List<Patient> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Keyset page of active patients in id order.
+     * WHY: "WHERE id > cursor" reads only the page, unlike OFFSET which
+     * re-reads every skipped row.
+     */
+    @Query("SELECT p FROM Patient p WHERE p.active = true AND p.id > :afterId ORDER BY p.id")
+    List<Patient> findActivePageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of patients (active or not) written after a point, in (updatedAt, id) order.
+     * Feeds the periodic refresh of PatientSuggestionIndex with the changes made
+     * through other instances; the (updated_at, id) index of V6 serves the range.
+     * Native for the row-value comparison (see findActivePageAfterLastName).
+     */
+    @Query(value = "SELECT * FROM patients p"
+            + " WHERE (p.updated_at, p.id) > (:updatedAt, :afterId)"
+            + " ORDER BY p.updated_at, p.id",
+            nativeQuery = true)
+    List<Patient> findPageUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    /**
+     * Keyset page of active patients in (lastName, id) order.
+     * The id breaks ties between patients with the same last name.
+     * WHY a row-value comparison: PostgreSQL turns "(last_name, id) > (?, ?)" into
+     * an index range start on (last_name, id); the equivalent OR form is only
+     * applied as a filter, after reading every row before the cursor.
+     * Native because HQL does not accept a tuple of parameters on the right-hand side.
+     */
+    @Query(value = "SELECT * FROM patients p WHERE p.is_active = true"
+            + " AND (p.last_name, p.id) > (:lastName, :afterId)"
+            + " ORDER BY p.last_name, p.id",
+            nativeQuery = true)
+    List<Patient> findActivePageAfterLastName(@Param("lastName") String lastName,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    /**
+     * Ranked search of active patients by first name, last name or national ID.
+     * WHY native: pg_trgm operators have no JPQL equivalent.
+     * 
+     * Each branch matches through an index (db/migration), then keeps :limit rows:
+     *   - national ID: prefix match on a text_pattern_ops B-tree (V3)
+     *   - names: substring (LIKE) or fuzzy (<%) match on "last first", from a
+     *     trigram GIN index (V5) or the GiST of V4 walked in <<-> order
+     * The name branch filters before its LIMIT and ranks like the final order,
+     * so no real match is dropped for a closer non-match. Final order:
+     * exact national ID, then name prefix matches, then word similarity.
+     * 
+     * @param term     lower-cased search term
+     * @param contains LIKE pattern "%term%" (wildcards escaped)
+     * @param prefix   LIKE pattern "term%" (wildcards escaped)
+     * @param rawTerm  search term as typed, for the national ID
+     * @param idPrefix LIKE pattern "rawTerm%" (wildcards escaped)
+     * @param limit    maximum number of results
+     */
+    @Query(value = "SELECT p.* FROM ("
+            + "(SELECT * FROM patients WHERE is_active = true AND national_id LIKE :idPrefix"
+            + " ORDER BY national_id LIMIT :limit)"
+            + " UNION "
+            + "(SELECT * FROM patients WHERE is_active = true"
+            + " AND (lower(last_name || ' ' || first_name) LIKE :contains"
+            + " OR :term <% lower(last_name || ' ' || first_name))"
+            + " ORDER BY CASE WHEN lower(last_name) LIKE :prefix OR lower(first_name) LIKE :prefix THEN 0 ELSE 1 END,"
+            + " :term <<-> lower(last_name || ' ' || first_name), last_name, id LIMIT :limit)"
+            + ") p"
+            + " ORDER BY CASE WHEN p.national_id = :rawTerm THEN 0"
+            + " WHEN lower(p.last_name) LIKE :prefix OR lower(p.first_name) LIKE :prefix THEN 1"
+            + " ELSE 2 END,"
+            + " :term <<-> lower(p.last_name || ' ' || p.first_name),"
+            + " p.last_name, p.id"
+            + " LIMIT :limit",
+            nativeQuery = true)
+    List<Patient> searchActive(@Param("term") String term,
+                               @Param("contains") String contains,
+                               @Param("prefix") String prefix,
+                               @Param("rawTerm") String rawTerm,
+                               @Param("idPrefix") String idPrefix,
+                               @Param("limit") int limit);
+
+    /**
+     * Returns which of the given national IDs are already taken.
+     * WHY: One IN query per import batch instead of one existsByNationalId per row.
+     */
+    @Query("SELECT p.nationalId FROM Patient p WHERE p.nationalId IN :nationalIds")
+    Set<String> findExistingNationalIds(@Param("nationalIds") Collection<String> nationalIds);
+
+    /**
+     * Returns which of the given emails are already taken (email is unique too).
+     */
+    @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Returns which of the given patient IDs belong to active patients.
+     * WHY: One IN query for a batch existence check instead of one existsById per id.
+     */
+    @Query("SELECT p.id FROM Patient p WHERE p.id IN :ids AND p.active = true")
+    Set<Long> findActiveIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,250 @@
+package com.hospital.patient.search;
+
+import com.hospital.patient.dto.PatientSuggestion;
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.repository.PatientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                       PATIENT SUGGESTION INDEX                               ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Name autocomplete answers from memory: a keystroke must not cost a          ║
+ * ║  database round trip.                                                        ║
+ * ║                                                                              ║
+ * ║  Sorted map of normalized names (lower case, no accents) to patients.        ║
+ * ║  Each active patient has two keys, "last first" and "first last", so         ║
+ * ║  either order can be typed. A prefix lookup is a range scan of the map:      ║
+ * ║  O(log n) to find the first key, then one step per suggestion.               ║
+ * ║                                                                              ║
+ * ║  Loaded once at startup, then kept up to date by PatientServiceImpl          ║
+ * ║  and the bulk import AFTER each commit (a rolled back change never shows).   ║
+ * ║                                                                              ║
+ * ║  Each instance keeps its own copy. Changes made through other instances      ║
+ * ║  are read by refresh() every patient.suggestions.refresh-interval-ms:        ║
+ * ║  the rows whose updated_at is past a high-water mark, minus an overlap       ║
+ * ║  (patient.suggestions.refresh-overlap) for transactions that commit after    ║
+ * ║  a later one and for clock differences between instances. Staleness is       ║
+ * ║  bounded by the refresh interval.                                            ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+@Slf4j
+public class PatientSuggestionIndex {
+
+    /** Separates the name from the id in a key; sorts before any character of a name. */
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /** Patients read per query while loading the index. */
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration refreshOverlap;
+
+    /** updated_at up to which the changes are applied; null until the first load ends. */
+    private volatile LocalDateTime highWaterMark;
+
+    /** "normalized name\0id" -> suggestion. */
+    private final ConcurrentSkipListMap<String, PatientSuggestion> entries = new ConcurrentSkipListMap<>();
+
+    /** id -> keys of the patient, to remove them on update / delete. */
+    private final Map<Long, List<String>> keysById = new ConcurrentHashMap<>();
+
+    public PatientSuggestionIndex(PatientRepository patientRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${patient.suggestions.refresh-overlap:2m}") Duration refreshOverlap) {
+        this.patientRepository = patientRepository;
+        this.refreshOverlap = refreshOverlap;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Loads every active patient, page by page.
+     * Requests served before the end of the load may miss some patients.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStart = LocalDateTime.now();
+        long afterId = 0;
+        List<Patient> page;
+        do {
+            long cursor = afterId;
+            page = readOnlyTransaction.execute(status ->
+                    patientRepository.findActivePageAfterId(cursor, PageRequest.of(0, LOAD_PAGE_SIZE)));
+            for (Patient patient : page) {
+                put(patient.getId(), patient.getFirstName(), patient.getLastName());
+                afterId = patient.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        // Rows written during the load are read again by the first refresh
+        highWaterMark = loadStart;
+        log.info("Patient suggestion index loaded: {} patients in {} ms", keysById.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies the patients created, renamed or deactivated since the high-water mark,
+     * whichever instance wrote them. Rows of the overlap window are applied again
+     * (a put is idempotent); the mark never passes the start of the refresh, so
+     * an updated_at set ahead by another instance's clock skips nothing.
+     */
+    @Scheduled(fixedDelayString = "${patient.suggestions.refresh-interval-ms:30000}",
+               initialDelayString = "${patient.suggestions.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime mark = highWaterMark;
+        if (mark == null) {
+            return;
+        }
+        LocalDateTime refreshStart = LocalDateTime.now();
+        LocalDateTime updatedAt = mark.minus(refreshOverlap);
+        long afterId = 0;
+        int applied = 0;
+        List<Patient> page;
+        do {
+            LocalDateTime cursorUpdatedAt = updatedAt;
+            long cursorId = afterId;
+            page = readOnlyTransaction.execute(status ->
+                    patientRepository.findPageUpdatedAfter(cursorUpdatedAt, cursorId, PageRequest.of(0, LOAD_PAGE_SIZE)));
+            for (Patient patient : page) {
+                if (Boolean.TRUE.equals(patient.getActive())) {
+                    put(patient.getId(), patient.getFirstName(), patient.getLastName());
+                } else {
+                    remove(patient.getId());
+                }
+                updatedAt = patient.getUpdatedAt();
+                afterId = patient.getId();
+                applied++;
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        if (updatedAt.isAfter(mark)) {
+            highWaterMark = updatedAt.isBefore(refreshStart) ? updatedAt : refreshStart;
+        }
+        log.debug("Patient suggestion index refreshed: {} changed patients applied", applied);
+    }
+
+    /**
+     * Returns the patients whose "last first" or "first last" name starts with the prefix.
+     *
+     * @param prefix typed text; case, accents and repeated spaces are ignored
+     * @param limit  maximum number of suggestions
+     * @return suggestions in alphabetical order, each patient at most once
+     */
+    public List<PatientSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        // Every key starting with the prefix sorts between prefix and prefix + U+FFFF
+        ConcurrentNavigableMap<String, PatientSuggestion> range =
+                entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+        Set<PatientSuggestion> suggestions = new LinkedHashSet<>();
+        for (PatientSuggestion suggestion : range.values()) {
+            suggestions.add(suggestion);
+            if (suggestions.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(suggestions);
+    }
+
+    /**
+     * Adds or replaces a patient once the current transaction commits
+     * (immediately if there is none). Inactive patients are removed.
+     */
+    public void putAfterCommit(Patient patient) {
+        Long id = patient.getId();
+        String firstName = patient.getFirstName();
+        String lastName = patient.getLastName();
+        boolean active = Boolean.TRUE.equals(patient.getActive());
+        afterCommit(() -> {
+            if (active) {
+                put(id, firstName, lastName);
+            } else {
+                remove(id);
+            }
+        });
+    }
+
+    /**
+     * Removes a patient once the current transaction commits (immediately if there is none).
+     */
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> remove(id));
+    }
+
+    private void put(Long id, String firstName, String lastName) {
+        remove(id);
+        PatientSuggestion suggestion = new PatientSuggestion(id, firstName, lastName);
+        String last = normalize(lastName);
+        String first = normalize(firstName);
+        List<String> keys = List.of(
+                key(last + " " + first, id),
+                key(first + " " + last, id));
+        keys.forEach(key -> entries.put(key, suggestion));
+        keysById.put(id, keys);
+    }
+
+    private void remove(Long id) {
+        List<String> keys = keysById.remove(id);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String key(String name, Long id) {
+        return name.strip() + KEY_SEPARATOR + id;
+    }
+
+    /** Lower case, accents removed, single spaces: "  Éloïse  DURAND" -> "eloise durand". */
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String withoutAccents = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+}
@@ -0,0 +1,38 @@
+package com.hospital.patient.service;
+
+import com.hospital.patient.dto.BulkImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                      PATIENT IMPORT SERVICE INTERFACE                        ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS INTERFACE EXISTS:                                                  ║
+ * ║  Onboards a whole clinic in one request instead of one POST per patient.     ║
+ * ║  Rows are read from the stream, inserted in JDBC batches, and audited        ║
+ * ║  with one aggregated event per batch.                                        ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public interface PatientImportService {
+
+    /** Supported body formats. */
+    enum Format {
+        /** Header row with PatientCreateRequest field names, then one patient per line. */
+        CSV,
+        /** One PatientCreateRequest JSON object per line. */
+        NDJSON
+    }
+
+    /**
+     * Imports every row of the body. Each batch is committed on its own:
+     * a failure stops the import but keeps the batches already committed.
+     *
+     * @param body   UTF-8 request body, read once as a stream
+     * @param format body format
+     * @return counters and throughput of the run
+     * @throws IOException if the body cannot be read
+     */
+    BulkImportResult importPatients(InputStream body, Format format) throws IOException;
+}
@@ -0,0 +1,24 @@
+package com.hospital.patient.service;
+
+import com.hospital.common.integrity.IntegrityReport;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                     PATIENT INTEGRITY SERVICE INTERFACE                      ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS INTERFACE EXISTS:                                                  ║
+ * ║  Re-verifies every stored patient against its integrity hash and the         ║
+ * ║  latest hash anchored in the blockchain audit trail.                         ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public interface PatientIntegrityService {
+
+    /**
+     * Scans the whole table in id order, chunk by chunk.
+     *
+     * @param chunkSize   rows loaded and verified per chunk
+     * @param maxReported maximum number of mismatches listed in the report
+     * @return counters for the whole table and the first mismatches
+     */
+    IntegrityReport verifyAll(int chunkSize, int maxReported);
+}
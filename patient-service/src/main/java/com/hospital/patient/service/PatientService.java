@@ -2,8 +2,12 @@ package com.hospital.patient.service;
 
 import com.hospital.patient.dto.PatientCreateRequest;
 import com.hospital.patient.dto.PatientDTO;
+import com.hospital.patient.dto.PatientPage;
+import com.hospital.patient.dto.PatientSuggestion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -51,20 +55,44 @@ public interface PatientService {
     Optional<PatientDTO> getPatientByNationalId(String nationalId);
 
     /**
-     * Retrieves all patients.
+     * Sort orders available for paginated listing.
+     */
+    enum PatientSort {
+        /** Creation order. */
+        ID,
+        /** Alphabetical by last name, then id. */
+        LAST_NAME
+    }
+
+    /**
+     * Retrieves one keyset page of active patients.
      * // Permissions will be checked in Subject 2
      * 
-     * @return List of all patients
+     * @param sort  sort order; the cursor is only valid for the sort it was issued with
+     * @param after cursor returned by the previous page, null for the first page
+     * @param limit maximum number of patients in the page
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    List<PatientDTO> getAllPatients();
+    PatientPage getPatientsPage(PatientSort sort, String after, int limit);
 
     /**
-     * Searches patients by name.
+     * Searches active patients by first name, last name or national ID.
      * 
      * @param searchTerm The search term
-     * @return List of matching patients
+     * @param limit Maximum number of results
+     * @return List of matching patients, best match first
      */
-    List<PatientDTO> searchPatients(String searchTerm);
+    List<PatientDTO> searchPatients(String searchTerm, int limit);
+
+    /**
+     * Name autocomplete, answered from the in-memory suggestion index.
+     * 
+     * @param prefix Beginning of "last first" or "first last" name
+     * @param limit Maximum number of suggestions
+     * @return Matching active patients in alphabetical order
+     */
+    List<PatientSuggestion> suggestPatients(String prefix, int limit);
 
     /**
      * Updates an existing patient.
@@ -86,11 +114,19 @@ public interface PatientService {
     void deletePatient(Long id);
 
     /**
-     * Checks if a patient exists.
+     * Checks if an active patient exists (deactivated patients cannot be booked).
      * 
      * @param id The patient ID
      * @return true if the patient exists
      */
     boolean existsById(Long id);
+
+    /**
+     * Batch version of {@link #existsById}: one query for all the ids.
+     * 
+     * @param ids The patient IDs (duplicates and nulls are ignored)
+     * @return Every requested ID, in request order, mapped to whether an active patient has it
+     */
+    Map<Long, Boolean> existsByIds(Collection<Long> ids);
 }
 
@@ -0,0 +1,320 @@
+package com.hospital.patient.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.patient.client.AuditClient;
+import com.hospital.patient.dto.BulkImportResult;
+import com.hospital.patient.dto.PatientCreateRequest;
+import com.hospital.patient.mapper.PatientMapper;
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.repository.PatientRepository;
+import com.hospital.patient.search.PatientSuggestionIndex;
+import com.hospital.patient.service.PatientImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                     PATIENT IMPORT SERVICE IMPLEMENTATION                    ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  createPatient costs one duplicate check, one INSERT and one audit event     ║
+ * ║  per patient. Here the body is read line by line and every batch costs:      ║
+ * ║    - one IN query for the national IDs (and one for the emails)              ║
+ * ║    - batched INSERTs (hibernate.jdbc.batch_size, pooled sequence IDs)        ║
+ * ║    - one outbox event per patient with its row hash, so the integrity        ║
+ * ║      verifier checks imported patients like created ones; the outbox ships   ║
+ * ║      them in batches (one blockchain transaction per shipped batch)          ║
+ * ║  Memory use is bounded by one batch: the persistence context is cleared      ║
+ * ║  after each commit, whatever the size of the body.                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Service
+@Slf4j
+public class PatientImportServiceImpl implements PatientImportService {
+
+    private static final String AUDIT_ACTION = "IMPORT_PATIENT";
+
+    /** Skipped rows listed in the result; the counters keep counting beyond. */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final PatientRepository patientRepository;
+    private final PatientMapper patientMapper;
+    private final AuditClient auditClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PatientSuggestionIndex suggestionIndex;
+    private final int batchSize;
+
+    public PatientImportServiceImpl(PatientRepository patientRepository,
+                                    PatientMapper patientMapper,
+                                    AuditClient auditClient,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    PatientSuggestionIndex suggestionIndex,
+                                    @Value("${patient.import.batch-size:500}") int batchSize) {
+        this.patientRepository = patientRepository;
+        this.patientMapper = patientMapper;
+        this.auditClient = auditClient;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.suggestionIndex = suggestionIndex;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public BulkImportResult importPatients(InputStream body, Format format) throws IOException {
+        log.info("Starting bulk patient import ({}, batch size {})", format, batchSize);
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String[] header = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    // Spreadsheet exports often start with a UTF-8 byte order mark
+                    header = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+                    continue;
+                }
+                progress.totalRows++;
+
+                PatientCreateRequest request = parse(line, format, header, lineNumber, progress);
+                if (request == null) {
+                    continue;
+                }
+                batch.add(new Row(lineNumber, request));
+                if (batch.size() == batchSize) {
+                    importBatch(batch, progress);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, progress);
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        BulkImportResult result = BulkImportResult.builder()
+                .totalRows(progress.totalRows)
+                .imported(progress.imported)
+                .duplicates(progress.duplicates)
+                .rejected(progress.rejected)
+                .batches(progress.batches)
+                .durationMs(durationMs)
+                .rowsPerSecond(progress.totalRows * 1000.0 / durationMs)
+                .errors(progress.errors)
+                .build();
+        log.info("Bulk patient import done in {} ms: {} rows, {} imported, {} duplicates, {} rejected ({} rows/s)",
+                durationMs, result.getTotalRows(), result.getImported(), result.getDuplicates(),
+                result.getRejected(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Parses and validates one line.
+     * Returns null (and counts the row as rejected) if the row is unusable.
+     */
+    private PatientCreateRequest parse(String line, Format format, String[] header, int lineNumber, Progress progress) {
+        PatientCreateRequest request;
+        try {
+            request = format == Format.CSV
+                    ? fromCsv(header, parseCsvLine(line))
+                    : objectMapper.readValue(line, PatientCreateRequest.class);
+        } catch (JsonProcessingException e) {
+            progress.reject(lineNumber, "unreadable row: " + e.getOriginalMessage());
+            return null;
+        } catch (IllegalArgumentException e) {
+            // convertValue wraps the mapping error: report it without the "[Source: UNKNOWN]" location
+            String reason = e.getCause() instanceof JsonProcessingException cause
+                    ? cause.getOriginalMessage()
+                    : e.getMessage();
+            progress.reject(lineNumber, "unreadable row: " + reason);
+            return null;
+        }
+
+        // Same rules as POST /api/patients (@Valid on PatientCreateRequest)
+        Set<ConstraintViolation<PatientCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            progress.reject(lineNumber, violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return request;
+    }
+
+    /**
+     * Inserts one batch in its own transaction.
+     * Duplicates are checked against the database with one IN query per
+     * unique column, and against the previous rows of the same batch.
+     */
+    private void importBatch(List<Row> rows, Progress progress) {
+        Map<String, Row> byNationalId = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (byNationalId.putIfAbsent(row.request.getNationalId(), row) != null) {
+                progress.duplicate(row.lineNumber, "national ID repeated in the import");
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> takenNationalIds = patientRepository.findExistingNationalIds(byNationalId.keySet());
+            Set<String> emails = byNationalId.values().stream()
+                    .map(row -> row.request.getEmail())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> takenEmails = emails.isEmpty() ? Set.of() : patientRepository.findExistingEmails(emails);
+
+            List<Patient> patients = new ArrayList<>(byNationalId.size());
+            Set<String> batchEmails = new HashSet<>();
+            for (Row row : byNationalId.values()) {
+                String email = row.request.getEmail();
+                if (takenNationalIds.contains(row.request.getNationalId())) {
+                    progress.duplicate(row.lineNumber, "national ID already exists");
+                } else if (email != null && (takenEmails.contains(email) || !batchEmails.add(email))) {
+                    progress.duplicate(row.lineNumber, "email already exists");
+                } else {
+                    patients.add(patientMapper.toEntity(row.request));
+                }
+            }
+            if (patients.isEmpty()) {
+                return;
+            }
+
+            // persist() only takes IDs from the pooled sequence. Each hash is computed right
+            // before its row's INSERT (PatientIntegrityConfig): the flush sends the batched
+            // INSERTs with the hashes, and no UPDATE
+            patientRepository.saveAll(patients);
+            entityManager.flush();
+
+            // AUDIT LOG: one event per patient (its own hash, looked up by id on verification),
+            // committed with the rows it describes
+            String userId = getCurrentUserId();
+            patients.forEach(patient -> auditClient.logAction(userId, AUDIT_ACTION, patient.getId().toString(),
+                    "Patient imported", patient.getIntegrityHash()));
+
+            entityManager.flush();
+            entityManager.clear();
+            patients.forEach(suggestionIndex::putAfterCommit);
+            progress.imported += patients.size();
+            progress.batches++;
+        });
+        log.debug("Bulk import batch committed ({} imported so far)", progress.imported);
+    }
+
+    private PatientCreateRequest fromCsv(String[] header, String[] values) {
+        if (values.length != header.length) {
+            throw new IllegalArgumentException("expected " + header.length + " columns, found " + values.length);
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            if (!values[i].isEmpty()) {
+                fields.put(header[i], values[i]);
+            }
+        }
+        return objectMapper.convertValue(fields, PatientCreateRequest.class);
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting, no line breaks inside fields).
+     */
+    private static String[] parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(current.toString().trim());
+        return values.toArray(new String[0]);
+    }
+
+    // Helper to get current user ID (Simulation of UUID for Subject 1 compliance)
+    private String getCurrentUserId() {
+        // In Subject 3, this will be extracted from the JWT token.
+        return "u-86f91f24-f3a7-4c4f-9e6b-0b1e83a736a5";
+    }
+
+    private record Row(int lineNumber, PatientCreateRequest request) {
+    }
+
+    /** Counters of one import run. */
+    private static final class Progress {
+        long totalRows;
+        long imported;
+        long duplicates;
+        long rejected;
+        int batches;
+        final List<String> errors = new ArrayList<>();
+
+        void duplicate(int lineNumber, String reason) {
+            duplicates++;
+            report(lineNumber, reason);
+        }
+
+        void reject(int lineNumber, String reason) {
+            rejected++;
+            report(lineNumber, reason);
+        }
+
+        private void report(int lineNumber, String reason) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+    }
+}
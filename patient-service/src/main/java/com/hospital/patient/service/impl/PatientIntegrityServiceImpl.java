@@ -0,0 +1,50 @@
+package com.hospital.patient.service.impl;
+
+import com.hospital.patient.client.AuditTrailClient;
+import com.hospital.patient.integrity.PatientIntegrity;
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.repository.PatientRepository;
+import com.hospital.patient.service.PatientIntegrityService;
+import com.hospital.common.integrity.IntegrityReport;
+import com.hospital.common.integrity.TableIntegrityCheck;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                        PATIENT INTEGRITY SERVICE IMPL                        ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Declares how the patients table is read, hashed and looked up on chain;     ║
+ * ║  the scan itself is the shared TableIntegrityCheck.                          ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Service
+public class PatientIntegrityServiceImpl implements PatientIntegrityService {
+
+    /** Audit actions that carry the integrity hash of a patient. */
+    private static final List<String> HASHED_ACTIONS = List.of(
+            "CREATE_PATIENT",
+            "UPDATE_PATIENT",
+            "DELETE_PATIENT",
+            "IMPORT_PATIENT");
+
+    private final TableIntegrityCheck<Patient> check;
+
+    public PatientIntegrityServiceImpl(PatientRepository patientRepository, AuditTrailClient auditTrailClient) {
+        this.check = new TableIntegrityCheck<>("patients",
+                (afterId, chunkSize) -> patientRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, chunkSize)),
+                Patient::getId,
+                PatientIntegrity.SERIALIZER,
+                Patient::getIntegrityHash,
+                PatientIntegrity::legacyHash,
+                ids -> auditTrailClient.latestHashes(ids, HASHED_ACTIONS));
+    }
+
+    @Override
+    public IntegrityReport verifyAll(int chunkSize, int maxReported) {
+        return check.verifyAll(chunkSize, maxReported);
+    }
+}
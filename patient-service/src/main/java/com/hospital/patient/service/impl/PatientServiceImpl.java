@@ -1,21 +1,36 @@
 package com.hospital.patient.service.impl;
 
+import com.hospital.patient.client.AppointmentCacheNotifier;
 import com.hospital.patient.client.AuditClient;
 import com.hospital.patient.dto.PatientCreateRequest;
 import com.hospital.patient.dto.PatientDTO;
+import com.hospital.patient.dto.PatientPage;
+import com.hospital.patient.dto.PatientSuggestion;
 import com.hospital.patient.exception.PatientNotFoundException;
 import com.hospital.patient.exception.DuplicatePatientException;
 import com.hospital.patient.mapper.PatientMapper;
+import com.hospital.patient.integrity.PatientIntegrity;
 import com.hospital.patient.model.Patient;
 import com.hospital.patient.repository.PatientRepository;
+import com.hospital.patient.search.PatientSuggestionIndex;
 import com.hospital.patient.service.PatientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +57,8 @@ public class PatientServiceImpl implements PatientService {
     private final PatientRepository patientRepository;
     private final PatientMapper patientMapper;
     private final AuditClient auditClient;
+    private final PatientSuggestionIndex suggestionIndex;
+    private final AppointmentCacheNotifier appointmentCacheNotifier;
 
     @Override
     public PatientDTO createPatient(PatientCreateRequest request) {
@@ -58,18 +75,16 @@ public class PatientServiceImpl implements PatientService {
         Patient patient = patientMapper.toEntity(request);
 
         // Save and return
-        // Save and return
-        Patient savedPatient = patientRepository.save(patient);
-        
-        // Compute and store integrity hash
-        String integrityHash = computeDataHash(savedPatient);
-        savedPatient.setIntegrityHash(integrityHash);
-        savedPatient = patientRepository.save(savedPatient);
+        // The integrity hash is computed right before the INSERT, once the ID is assigned
+        // (PatientIntegrityConfig): the row is written once, hash included
+        Patient savedPatient = patientRepository.saveAndFlush(patient);
+        String integrityHash = savedPatient.getIntegrityHash();
 
         log.info("Patient created with ID: {}", savedPatient.getId());
 
         // AUDIT LOG
         auditClient.logAction(getCurrentUserId(), "CREATE_PATIENT", savedPatient.getId().toString(), "Patient created", integrityHash);
+        suggestionIndex.putAfterCommit(savedPatient);
 
         return patientMapper.toDTO(savedPatient);
     }
@@ -103,29 +118,80 @@ public class PatientServiceImpl implements PatientService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDTO> getAllPatients() {
-        log.debug("Fetching all patients");
+    public PatientPage getPatientsPage(PatientSort sort, String after, int limit) {
+        log.debug("Fetching patients page (sort {}, after {}, limit {})", sort, after, limit);
         // Permissions will be checked in Subject 2
         // Modified for Subject 1: Return only active patients
-        List<PatientDTO> patients = patientRepository.findByActiveTrue().stream()
-                .map(patientMapper::toDTO)
-                .collect(Collectors.toList());
-        
+        List<Patient> patients;
+        if (sort == PatientSort.LAST_NAME) {
+            String lastName = "";
+            long afterId = 0;
+            if (after != null && !after.isBlank()) {
+                // Cursor = base64url("<id>:<lastName>"): opaque, and safe for any name in a URL
+                String decoded = decodeCursor(after);
+                int separator = decoded.indexOf(':');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Invalid cursor: " + after);
+                }
+                afterId = parseCursorId(decoded.substring(0, separator), after);
+                lastName = decoded.substring(separator + 1);
+            }
+            patients = patientRepository.findActivePageAfterLastName(lastName, afterId, PageRequest.of(0, limit));
+        } else {
+            long afterId = after == null || after.isBlank() ? 0 : parseCursorId(after, after);
+            patients = patientRepository.findActivePageAfterId(afterId, PageRequest.of(0, limit));
+        }
+
+        String nextCursor = null;
+        if (patients.size() == limit) {
+            Patient last = patients.get(patients.size() - 1);
+            nextCursor = sort == PatientSort.LAST_NAME
+                    ? Base64.getUrlEncoder().withoutPadding().encodeToString(
+                            (last.getId() + ":" + last.getLastName()).getBytes(StandardCharsets.UTF_8))
+                    : last.getId().toString();
+        }
+
         // AUDIT LOG (listing)
         // Note: Listing might generate too many logs if we log each item. We log the action instead.
         // auditClient.logAction(getCurrentUserId(), "LIST_PATIENTS", "ALL", "Listed all active patients. Count: " + patients.size());
-        
-        return patients;
+
+        return PatientPage.builder()
+                .items(patients.stream().map(patientMapper::toDTO).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static long parseCursorId(String value, String cursor) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PatientDTO> searchPatients(String searchTerm) {
+    public List<PatientDTO> searchPatients(String searchTerm, int limit) {
         log.debug("Searching patients with term: {}", searchTerm);
         // Business logic will be added in the specialized subject
-        // TODO: Ensure search also respects active flag
-        List<PatientDTO> results = patientRepository.findByLastNameContainingIgnoreCase(searchTerm).stream()
-                .filter(Patient::getActive) // Client-side filtering for now, better to do in DB
+        String rawTerm = searchTerm == null ? "" : searchTerm.strip();
+        if (rawTerm.isEmpty()) {
+            return List.of();
+        }
+        // Active filtering, ranking and limit are done by the indexed query (see searchActive)
+        String term = rawTerm.toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(term);
+        List<PatientDTO> results = patientRepository.searchActive(
+                        term, "%" + escaped + "%", escaped + "%", rawTerm, escapeLike(rawTerm) + "%", limit)
+                .stream()
                 .map(patientMapper::toDTO)
                 .collect(Collectors.toList());
                 
@@ -135,6 +201,13 @@ public class PatientServiceImpl implements PatientService {
         return results;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PatientSuggestion> suggestPatients(String prefix, int limit) {
+        // Served from memory: no transaction (no pooled connection), no query, no audit event per keystroke
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
     @Override
     public PatientDTO updatePatient(Long id, PatientDTO patientDTO) {
         log.info("Updating patient with ID: {}", id);
@@ -153,7 +226,7 @@ public class PatientServiceImpl implements PatientService {
         patientMapper.updateEntityFromDTO(patientDTO, existingPatient);
         
         // Compute and store integrity hash
-        String integrityHash = computeDataHash(existingPatient);
+        String integrityHash = PatientIntegrity.hash(existingPatient);
         existingPatient.setIntegrityHash(integrityHash);
 
         Patient updatedPatient = patientRepository.save(existingPatient);
@@ -161,6 +234,7 @@ public class PatientServiceImpl implements PatientService {
 
         // AUDIT LOG
         auditClient.logAction(getCurrentUserId(), "UPDATE_PATIENT", id.toString(), "Patient updated", integrityHash);
+        suggestionIndex.putAfterCommit(updatedPatient);
 
         return patientMapper.toDTO(updatedPatient);
     }
@@ -180,7 +254,7 @@ public class PatientServiceImpl implements PatientService {
         patient.setActive(false);
         
         // Compute and store integrity hash
-        String integrityHash = computeDataHash(patient);
+        String integrityHash = PatientIntegrity.hash(patient);
         patient.setIntegrityHash(integrityHash);
 
         patientRepository.save(patient);
@@ -189,38 +263,36 @@ public class PatientServiceImpl implements PatientService {
 
         // AUDIT LOG
         auditClient.logAction(getCurrentUserId(), "DELETE_PATIENT", id.toString(), "Patient soft deleted (deactivated)", integrityHash);
+        suggestionIndex.removeAfterCommit(id);
+        appointmentCacheNotifier.patientDeactivatedAfterCommit(id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsById(Long id) {
-        return patientRepository.existsById(id);
+        // A deactivated patient cannot be booked: only active records "exist"
+        return patientRepository.existsByIdAndActiveTrue(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> existsByIds(Collection<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Set<Long> active = requested.isEmpty() ? Set.of() : patientRepository.findActiveIds(requested);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        requested.forEach(id -> result.put(id, active.contains(id)));
+        return result;
     }
     
+    /** Escapes LIKE wildcards so the term is matched literally (Postgres default escape character is the backslash). */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     // Helper to get current user ID (Simulation of UUID for Subject 1 compliance)
     private String getCurrentUserId() {
         // In Subject 3, this will be extracted from the JWT token.
         // For Subject 1, we use a technical pseudonym (UUID) to follow security rules.
         return "u-86f91f24-f3a7-4c4f-9e6b-0b1e83a736a5"; 
     }
-
-    private String computeDataHash(Object data) {
-        try {
-            String input = data.toString();
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(input.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder(2 * encodedhash.length);
-            for (int i = 0; i < encodedhash.length; i++) {
-                String hex = Integer.toHexString(0xff & encodedhash[i]);
-                if(hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            log.warn("Failed to compute data hash", e);
-            return "HASH_ERROR";
-        }
-    }
 }
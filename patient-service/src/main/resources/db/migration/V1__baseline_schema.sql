@@ -0,0 +1,42 @@
+-- Baseline: the schema as Hibernate (ddl-auto: update) created it.
+-- Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and skip this script; IF NOT EXISTS
+-- keeps it harmless anyway. From now on every schema change is a new V<n> script.
+
+CREATE TABLE IF NOT EXISTS patients (
+    id                      bigint        NOT NULL PRIMARY KEY,
+    national_id             varchar(255)  NOT NULL UNIQUE,
+    first_name              varchar(255)  NOT NULL,
+    last_name               varchar(255)  NOT NULL,
+    date_of_birth           date          NOT NULL,
+    gender                  varchar(255)  NOT NULL,
+    email                   varchar(255)  UNIQUE,
+    phone_number            varchar(255),
+    address                 varchar(500),
+    blood_type              varchar(255),
+    emergency_contact_name  varchar(255),
+    emergency_contact_phone varchar(255),
+    created_at              timestamp(6),
+    updated_at              timestamp(6),
+    integrity_hash          varchar(255),
+    is_active               boolean       NOT NULL
+);
+
+-- Keyset pagination by name: ORDER BY last_name, id
+CREATE INDEX IF NOT EXISTS idx_patients_last_name_id ON patients (last_name, id);
+
+CREATE TABLE IF NOT EXISTS audit_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         varchar(255)  NOT NULL,
+    action          varchar(255)  NOT NULL,
+    resource_id     varchar(255)  NOT NULL,
+    details         varchar(1000),
+    data_hash       varchar(255),
+    created_at      timestamp(6)  NOT NULL,
+    attempts        integer       NOT NULL,
+    next_attempt_at timestamp(6)  NOT NULL,
+    last_error      varchar(500)
+);
+
+-- Outbox shipper: WHERE next_attempt_at <= now ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_audit_outbox_next_attempt ON audit_outbox (next_attempt_at, id);
@@ -0,0 +1,7 @@
+-- Pooled id sequence of Patient (@SequenceGenerator allocationSize = 50).
+-- INCREMENT BY must equal allocationSize (checked by ddl-auto: validate).
+CREATE SEQUENCE IF NOT EXISTS patients_seq START WITH 1 INCREMENT BY 50;
+
+-- Aligns the sequence with the rows created while the id column was IDENTITY.
+-- Never moves the sequence backwards.
+SELECT setval('patients_seq', GREATEST((SELECT last_value FROM patients_seq), (SELECT COALESCE(MAX(id), 1) FROM patients)));
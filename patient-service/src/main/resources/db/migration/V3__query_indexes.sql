@@ -0,0 +1,13 @@
+-- Indexes behind PatientRepository.searchActive (GET /api/patients/search).
+-- Partial on active patients: inactive rows are never searched, so they are not indexed.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram indexes: serve LIKE '%term%' and the fuzzy % operator on names
+CREATE INDEX IF NOT EXISTS idx_patients_last_name_trgm
+    ON patients USING gin (lower(last_name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_patients_first_name_trgm
+    ON patients USING gin (lower(first_name) gin_trgm_ops) WHERE is_active;
+
+-- B-tree with text_pattern_ops: serves national_id LIKE 'prefix%' whatever the collation
+CREATE INDEX IF NOT EXISTS idx_patients_national_id_prefix
+    ON patients (national_id text_pattern_ops) WHERE is_active;
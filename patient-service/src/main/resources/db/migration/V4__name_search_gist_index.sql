@@ -0,0 +1,12 @@
+-- Name search by nearest neighbour (PatientRepository.searchActive).
+-- The GIN indexes of V3 can only return every match of the fuzzy % operator, which
+-- the query then had to sort: tens of thousands of rows for a common name.
+-- A GiST trigram index returns the rows in word-similarity order (<<->), so the
+-- query stops after LIMIT rows. siglen=256 (default 12 bytes): with the default
+-- signature most pages look like candidates and the nearest-neighbour scan visits
+-- a large part of the index.
+DROP INDEX IF EXISTS idx_patients_last_name_trgm;
+DROP INDEX IF EXISTS idx_patients_first_name_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_patients_full_name_trgm
+    ON patients USING gist (lower(last_name || ' ' || first_name) gist_trgm_ops(siglen = 256)) WHERE is_active;
@@ -0,0 +1,9 @@
+-- Name matching of PatientRepository.searchActive.
+-- The name branch must apply its LIKE '%term%' / <% predicate BEFORE its LIMIT:
+-- keeping the :limit nearest names first (V4 GiST) and filtering afterwards drops
+-- real substring matches that are not among those neighbours.
+-- A GIN trigram index on the same expression returns every row matching either
+-- operator; the planner can still walk the V4 GiST in distance order and filter
+-- when the term is so common that most rows match.
+CREATE INDEX IF NOT EXISTS idx_patients_full_name_gin_trgm
+    ON patients USING gin (lower(last_name || ' ' || first_name) gin_trgm_ops) WHERE is_active;
@@ -0,0 +1,4 @@
+-- Changes feed of PatientSuggestionIndex.refresh (PatientRepository.findPageUpdatedAfter):
+-- keyset pages in (updated_at, id) order, every few seconds on each instance.
+-- Not partial: deactivations must be read too, to leave the suggestions.
+CREATE INDEX IF NOT EXISTS idx_patients_updated_at_id ON patients (updated_at, id);
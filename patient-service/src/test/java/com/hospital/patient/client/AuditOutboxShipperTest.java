@@ -0,0 +1,148 @@
+package com.hospital.patient.client;
+
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.patient.model.AuditOutboxEvent;
+import com.hospital.patient.model.AuditOutboxStatus;
+import com.hospital.patient.repository.AuditOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * The outbox is drained without holding a transaction (connection, row locks)
+ * during the calls to the Audit Service, and the outcome of each event is
+ * still written: shipped events deleted, rejected ones parked, the others
+ * scheduled for a retry.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditOutboxShipperTest {
+
+    @Autowired
+    private AuditOutboxShipper shipper;
+
+    @Autowired
+    private AuditOutboxRepository outboxRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    /** Whether a transaction was active during each HTTP call. */
+    private final List<Boolean> transactionActiveDuringCalls = new ArrayList<>();
+
+    @BeforeEach
+    void resetOutbox() {
+        outboxRepository.deleteAll();
+        transactionActiveDuringCalls.clear();
+    }
+
+    @Test
+    void shippedBatchIsDeleted() {
+        outboxRepository.saveAll(List.of(event("1"), event("2")));
+        when(restTemplate.postForObject(endsWith("/audit/log/batch"), any(), eq(String.class)))
+                .thenAnswer(invocation -> respond());
+
+        shipper.shipPendingEvents();
+
+        assertThat(transactionActiveDuringCalls).containsExactly(false);
+        assertThat(outboxRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void rejectedBatchIsShippedOneByOneAndTheRejectedEventParked() {
+        outboxRepository.saveAll(List.of(event("1"), event("2")));
+        HttpClientErrorException badRequest = HttpClientErrorException.create(
+                HttpStatus.BAD_REQUEST, "Bad Request", null, null, null);
+        when(restTemplate.postForObject(endsWith("/audit/log/batch"), any(), eq(String.class)))
+                .thenAnswer(invocation -> respond(badRequest));
+        when(restTemplate.postForObject(endsWith("/audit/log"), any(), eq(String.class)))
+                .thenAnswer(invocation -> respond())
+                .thenAnswer(invocation -> respond(badRequest));
+
+        shipper.shipPendingEvents();
+
+        assertThat(transactionActiveDuringCalls).containsExactly(false, false, false);
+        assertThat(outboxRepository.findAll())
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getResourceId()).isEqualTo("2");
+                    assertThat(event.getStatus()).isEqualTo(AuditOutboxStatus.DEAD);
+                });
+    }
+
+    @Test
+    void unreachableAuditServiceSchedulesARetry() {
+        outboxRepository.save(event("1"));
+        when(restTemplate.postForObject(endsWith("/audit/log/batch"), any(), eq(String.class)))
+                .thenAnswer(invocation -> respond(new ResourceAccessException("Connection refused")));
+
+        LocalDateTime before = LocalDateTime.now();
+        shipper.shipPendingEvents();
+
+        assertThat(transactionActiveDuringCalls).containsExactly(false);
+        assertThat(outboxRepository.findAll())
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getStatus()).isEqualTo(AuditOutboxStatus.PENDING);
+                    assertThat(event.getAttempts()).isEqualTo(1);
+                    assertThat(event.getLastError()).isEqualTo("Connection refused");
+                    assertThat(event.getNextAttemptAt()).isAfter(before);
+                });
+    }
+
+    private String respond() {
+        transactionActiveDuringCalls.add(TransactionSynchronizationManager.isActualTransactionActive());
+        return "[]";
+    }
+
+    private String respond(RuntimeException failure) {
+        transactionActiveDuringCalls.add(TransactionSynchronizationManager.isActualTransactionActive());
+        throw failure;
+    }
+
+    private static AuditOutboxEvent event(String resourceId) {
+        LocalDateTime now = LocalDateTime.now().minusSeconds(1);
+        return AuditOutboxEvent.builder()
+                .userId("u-1")
+                .action("CREATE_PATIENT")
+                .resourceId(resourceId)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = AuditOutboxEvent.class)
+    @EnableJpaRepositories(basePackageClasses = AuditOutboxRepository.class)
+    @Import({EmbeddedPostgresTestConfiguration.class, AuditOutboxShipper.class})
+    static class ShipperConfig {
+    }
+}
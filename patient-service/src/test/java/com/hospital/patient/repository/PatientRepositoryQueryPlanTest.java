@@ -0,0 +1,121 @@
+package com.hospital.patient.repository;
+
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.QueryPlans;
+import com.hospital.common.test.StatementRecorder;
+import com.hospital.common.test.TestDatabaseFixture;
+import com.hospital.patient.model.Patient;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The hot PatientRepository queries must be served by the indexes of the
+ * Flyway migrations. Each test calls the repository method against an
+ * embedded PostgreSQL migrated with V1..Vn and filled with enough rows for
+ * the planner to prefer an index, then EXPLAINs the SQL it actually sent
+ * (same bound values) and rejects any sequential scan.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PatientRepositoryQueryPlanTest {
+
+    private static final int PATIENTS = 100_000;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void searchActiveByNameUsesTrigramIndexes() throws SQLException {
+        patientRepository.searchActive("dubois123", "%dubois123%", "dubois123%", "dubois123", "dubois123%", 20);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void searchActiveByFuzzyNameUsesTrigramIndexes() throws SQLException {
+        patientRepository.searchActive("duboys", "%duboys%", "duboys%", "duboys", "duboys%", 20);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void searchActiveByNationalIdUsesPrefixIndex() throws SQLException {
+        patientRepository.searchActive("nid0001234", "%nid0001234%", "nid0001234%", "NID0001234", "NID0001234%", 20);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findActivePageAfterLastNameStartsAtTheCursor() throws SQLException {
+        patientRepository.findActivePageAfterLastName("Dubois500", 1234L, PageRequest.of(0, 50));
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findActivePageAfterIdStartsAtTheCursor() throws SQLException {
+        patientRepository.findActivePageAfterId(50_000L, PageRequest.of(0, 50));
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findPageUpdatedAfterStartsAtTheCursor() throws SQLException {
+        patientRepository.findPageUpdatedAfter(LocalDateTime.of(2026, 2, 1, 0, 0), 0L, PageRequest.of(0, 500));
+
+        assertNoSequentialScan();
+    }
+
+    private void assertNoSequentialScan() throws SQLException {
+        QueryPlans.assertNoSequentialScan(recorder, postgres);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Patient.class)
+    @EnableJpaRepositories(basePackageClasses = PatientRepository.class)
+    @Import(EmbeddedPostgresTestConfiguration.class)
+    static class QueryPlanConfig {
+
+        @Bean
+        TestDatabaseFixture patients() {
+            return () -> List.of("INSERT INTO patients (id, national_id, first_name, last_name, date_of_birth,"
+                    + " gender, created_at, updated_at, is_active)"
+                    + " SELECT i, 'NID' || lpad(i::text, 7, '0'), 'First' || (i % 5000),"
+                    + " (ARRAY['Martin','Bernard','Dubois','Thomas','Robert','Richard','Petit','Durand','Leroy','Moreau'])[1 + i % 10]"
+                    + " || (i % 20000),"
+                    + " date '1950-01-01' + i % 20000, CASE WHEN i % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END,"
+                    + " timestamp '2026-01-01' + i * interval '1 minute',"
+                    + " timestamp '2026-01-01' + i * interval '1 minute',"
+                    + " i % 10 <> 0"
+                    + " FROM generate_series(1, " + PATIENTS + ") i");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.hospital.patient.repository;
+
+import com.hospital.common.test.PreFlywaySchemaTestConfiguration;
+import com.hospital.patient.model.Gender;
+import com.hospital.patient.model.Patient;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrade of a database created before the Flyway migrations (ddl-auto: update,
+ * see db/pre-flyway-schema.sql): with the service's spring.flyway settings,
+ * every script from V1 must run on it (their IF NOT EXISTS guards skip what
+ * already exists) and the result must pass Hibernate's schema validation.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PatientSchemaUpgradeTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void runsEveryMigrationOnADatabaseCreatedBeforeFlyway() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(applied[0].getType().isBaseline()).isTrue();
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("0");
+        assertThat(applied[1].getVersion().getVersion()).isEqualTo("1");
+        assertThat(Arrays.copyOfRange(applied, 1, applied.length))
+                .allMatch(migration -> migration.getState() == MigrationState.SUCCESS);
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void keepsExistingRowsAndNumbersNewOnesAfterThem() {
+        assertThat(patientRepository.count()).isEqualTo(3);
+
+        Patient saved = patientRepository.saveAndFlush(Patient.builder()
+                .nationalId("NID0000004")
+                .firstName("Lucie")
+                .lastName("Durand")
+                .dateOfBirth(LocalDate.of(2001, 5, 17))
+                .gender(Gender.FEMALE)
+                .build());
+
+        assertThat(saved.getId()).isGreaterThan(3L);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Patient.class)
+    @EnableJpaRepositories(basePackageClasses = PatientRepository.class)
+    @Import(PreFlywaySchemaTestConfiguration.class)
+    static class UpgradeConfig {
+    }
+}
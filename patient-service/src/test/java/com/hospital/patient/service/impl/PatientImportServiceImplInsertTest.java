@@ -0,0 +1,103 @@
+package com.hospital.patient.service.impl;
+
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.StatementRecorder;
+import com.hospital.patient.client.AuditClient;
+import com.hospital.patient.dto.BulkImportResult;
+import com.hospital.patient.integrity.PatientIntegrity;
+import com.hospital.patient.integrity.PatientIntegrityConfig;
+import com.hospital.patient.mapper.PatientMapperImpl;
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.repository.PatientRepository;
+import com.hospital.patient.search.PatientSuggestionIndex;
+import com.hospital.patient.service.PatientImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Imported patients are written by one (batched) INSERT per row, carrying
+ * its integrity hash: no UPDATE of the rows just inserted, and each hash
+ * sent to the audit trail is the one stored.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PatientImportServiceImplInsertTest {
+
+    private static final String BODY = """
+            {"nationalId":"NID0000001","firstName":"Lucie","lastName":"Durand","dateOfBirth":"2001-05-17","gender":"FEMALE"}
+            {"nationalId":"NID0000002","firstName":"Marc","lastName":"Petit","dateOfBirth":"1987-11-02","gender":"MALE"}
+            {"nationalId":"NID0000003","firstName":"Emma","lastName":"Leroy","dateOfBirth":"1975-03-28","gender":"FEMALE"}
+            """;
+
+    @Autowired
+    private PatientImportServiceImpl importService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @MockBean
+    private AuditClient auditClient;
+
+    @MockBean
+    private PatientSuggestionIndex suggestionIndex;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void importInsertsEachRowOnceWithItsHash() throws IOException {
+        BulkImportResult result = importService.importPatients(
+                new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)), PatientImportService.Format.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(recorder.recorded("insert")).hasSize(3)
+                .allMatch(statement -> statement.sql().contains("patients"));
+        assertThat(recorder.recorded("update")).isEmpty();
+
+        List<Patient> stored = patientRepository.findAll();
+        assertThat(stored).hasSize(3);
+        for (Patient patient : stored) {
+            assertThat(patient.getIntegrityHash()).isNotNull().isEqualTo(PatientIntegrity.hash(patient));
+            verify(auditClient).logAction(anyString(), eq("IMPORT_PATIENT"), eq(patient.getId().toString()),
+                    anyString(), eq(patient.getIntegrityHash()));
+        }
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Patient.class)
+    @EnableJpaRepositories(basePackageClasses = PatientRepository.class)
+    @ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+    @Import({EmbeddedPostgresTestConfiguration.class, PatientIntegrityConfig.class,
+            PatientImportServiceImpl.class, PatientMapperImpl.class})
+    static class InsertConfig {
+    }
+}
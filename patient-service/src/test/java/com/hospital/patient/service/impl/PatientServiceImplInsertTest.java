@@ -0,0 +1,102 @@
+package com.hospital.patient.service.impl;
+
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.StatementRecorder;
+import com.hospital.patient.client.AppointmentCacheNotifier;
+import com.hospital.patient.client.AuditClient;
+import com.hospital.patient.dto.PatientCreateRequest;
+import com.hospital.patient.dto.PatientDTO;
+import com.hospital.patient.integrity.PatientIntegrity;
+import com.hospital.patient.integrity.PatientIntegrityConfig;
+import com.hospital.patient.mapper.PatientMapperImpl;
+import com.hospital.patient.model.Gender;
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.repository.PatientRepository;
+import com.hospital.patient.search.PatientSuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A new patient is written by a single INSERT carrying its integrity hash:
+ * no UPDATE of the row just inserted, and the hash sent to the audit trail
+ * is the one stored.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PatientServiceImplInsertTest {
+
+    @Autowired
+    private PatientServiceImpl patientService;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private AuditClient auditClient;
+
+    @MockBean
+    private PatientSuggestionIndex suggestionIndex;
+
+    @MockBean
+    private AppointmentCacheNotifier appointmentCacheNotifier;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void createPatientInsertsTheRowOnceWithItsHash() {
+        PatientDTO created = patientService.createPatient(PatientCreateRequest.builder()
+                .nationalId("NID0000001")
+                .firstName("Lucie")
+                .lastName("Durand")
+                .dateOfBirth(LocalDate.of(2001, 5, 17))
+                .gender(Gender.FEMALE)
+                .email("lucie.durand@example.org")
+                .build());
+        // What the commit would send
+        entityManager.flush();
+
+        assertThat(recorder.recorded("insert")).hasSize(1)
+                .allMatch(statement -> statement.sql().contains("patients"));
+        assertThat(recorder.recorded("update")).isEmpty();
+
+        entityManager.clear();
+        Patient stored = entityManager.find(Patient.class, created.getId());
+        assertThat(stored.getIntegrityHash()).isNotNull().isEqualTo(PatientIntegrity.hash(stored));
+        verify(auditClient).logAction(
+                anyString(), eq("CREATE_PATIENT"), eq(created.getId().toString()),
+                anyString(), eq(stored.getIntegrityHash()));
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Patient.class)
+    @EnableJpaRepositories(basePackageClasses = PatientRepository.class)
+    @Import({EmbeddedPostgresTestConfiguration.class, PatientIntegrityConfig.class,
+            PatientServiceImpl.class, PatientMapperImpl.class})
+    static class InsertConfig {
+    }
+}
@@ -0,0 +1,28 @@
+-- Schema of a database created before the Flyway migrations: what Hibernate
+-- (ddl-auto: update) generated for the entities of the baseline, on PostgreSQL.
+-- No audit_outbox table, bigserial ids. Used by the Flyway upgrade test.
+
+create table patients (
+    date_of_birth date not null,
+    is_active boolean not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    address varchar(500),
+    blood_type varchar(255),
+    email varchar(255) unique,
+    emergency_contact_name varchar(255),
+    emergency_contact_phone varchar(255),
+    first_name varchar(255) not null,
+    gender varchar(255) not null check (gender in ('MALE','FEMALE','OTHER','PREFER_NOT_TO_SAY')),
+    integrity_hash varchar(255),
+    last_name varchar(255) not null,
+    national_id varchar(255) not null unique,
+    phone_number varchar(255),
+    primary key (id)
+);
+
+insert into patients (national_id, first_name, last_name, date_of_birth, gender, email, is_active, created_at, updated_at)
+values ('NID0000001', 'Jean', 'Martin', date '1980-04-12', 'MALE', 'jean.martin@example.test', true, now(), now()),
+       ('NID0000002', 'Claire', 'Dubois', date '1992-09-03', 'FEMALE', null, true, now(), now()),
+       ('NID0000003', 'Paul', 'Petit', date '1975-01-30', 'MALE', null, false, now(), now());
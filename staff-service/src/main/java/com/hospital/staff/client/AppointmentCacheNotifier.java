@@ -0,0 +1,41 @@
+package com.hospital.staff.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tells appointment-service that a staff member was deactivated, so that it stops
+ * accepting bookings for it from its existence cache.
+ * Best effort: sent in the background after commit, a failure is only logged
+ * (the cache TTL of appointment-service bounds how long it stays stale).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentCacheNotifier {
+
+    private final AppointmentServiceClient appointmentServiceClient;
+
+    public void staffDeactivatedAfterCommit(Long id) {
+        Runnable notify = () -> CompletableFuture.runAsync(() -> appointmentServiceClient.evictStaff(id))
+                .exceptionally(e -> {
+                    log.warn("Could not notify appointment-service of the deactivation of staff {}: {}", id, e.getMessage());
+                    return null;
+                });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notify.run();
+                }
+            });
+        } else {
+            notify.run();
+        }
+    }
+}
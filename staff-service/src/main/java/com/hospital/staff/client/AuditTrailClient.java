@@ -0,0 +1,44 @@
+package com.hospital.staff.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                              AUDIT TRAIL CLIENT                              ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Reads back the audit trail: latest integrity hash anchored on the           ║
+ * ║  blockchain for a batch of resources (one call per verification chunk).      ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditTrailClient {
+
+    private final RestTemplate restTemplate;
+
+    @Value("${audit.service.url:http://localhost:8083}")
+    private String auditServiceBaseUrl;
+
+    /**
+     * @return resourceId -> latest anchored hash; resources without any hash are absent
+     */
+    public Map<String, String> latestHashes(List<String> resourceIds, List<String> actions) {
+        Map<String, Object> body = Map.of("resourceIds", resourceIds, "actions", actions);
+        Map<String, String> hashes = restTemplate.exchange(
+                auditServiceBaseUrl + "/audit/hashes/latest",
+                HttpMethod.POST,
+                new HttpEntity<>(body),
+                new ParameterizedTypeReference<Map<String, String>>() {}).getBody();
+        return hashes != null ? hashes : Map.of();
+    }
+}
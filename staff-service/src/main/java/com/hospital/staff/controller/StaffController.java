@@ -1,8 +1,10 @@
 package com.hospital.staff.controller;
 
+import com.hospital.common.integrity.IntegrityReport;
 import com.hospital.staff.dto.StaffDTO;
 import com.hospital.staff.model.Specialty;
 import com.hospital.staff.model.StaffRole;
+import com.hospital.staff.service.StaffIntegrityService;
 import com.hospital.staff.service.StaffService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -35,7 +38,11 @@ import java.util.List;
 @Slf4j
 public class StaffController {
 
+    /** Upper bound on ids per batch existence check (one IN query). */
+    private static final int MAX_EXISTS_BATCH = 1000;
+
     private final StaffService staffService;
+    private final StaffIntegrityService staffIntegrityService;
 
     /**
      * Creates a new staff member.
@@ -129,6 +136,17 @@ public class StaffController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Ids of the staff of a department, deactivated staff included.
+     * WHY: Lets Appointment Service export a department agenda without
+     * loading full staff records.
+     */
+    @GetMapping("/department/{department}/ids")
+    public ResponseEntity<List<Long>> getDepartmentStaffIds(@PathVariable String department) {
+        log.info("REST request to get staff ids of department: {}", department);
+        return ResponseEntity.ok(staffService.getDepartmentStaffIds(department));
+    }
+
     /**
      * Checks if a staff member exists.
      */
@@ -138,5 +156,37 @@ public class StaffController {
         boolean exists = staffService.existsById(id);
         return ResponseEntity.ok(exists);
     }
-}
 
+    /**
+     * Checks many staff members at once (one round trip, one query).
+     * Answers 400 above 1000 ids.
+     */
+    @PostMapping("/exists")
+    public ResponseEntity<Map<Long, Boolean>> checkStaffExist(@RequestBody List<Long> ids) {
+        log.debug("REST request to check if {} staff exist", ids.size());
+        if (ids.size() > MAX_EXISTS_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(staffService.existsByIds(ids));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // INTEGRITY VERIFICATION
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Re-verifies every staff against its stored integrity hash and the
+     * latest hash anchored in the blockchain audit trail.
+     * 
+     * @param chunkSize   rows verified per chunk
+     * @param maxReported maximum number of mismatches listed in the report
+     * @return counters and the first tampered / unanchored rows
+     */
+    @PostMapping("/integrity/verify")
+    public ResponseEntity<IntegrityReport> verifyIntegrity(
+            @RequestParam(defaultValue = "1000") int chunkSize,
+            @RequestParam(defaultValue = "1000") int maxReported) {
+        log.info("REST request to verify staff integrity");
+        return ResponseEntity.ok(staffIntegrityService.verifyAll(Math.max(1, chunkSize), Math.max(0, maxReported)));
+    }
+}
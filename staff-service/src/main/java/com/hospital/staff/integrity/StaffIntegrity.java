@@ -0,0 +1,46 @@
+package com.hospital.staff.integrity;
+
+import com.hospital.common.integrity.CanonicalSerializer;
+import com.hospital.common.integrity.IntegrityHasher;
+import com.hospital.staff.model.Staff;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                           STAFF INTEGRITY                                    ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Canonical field order of a Staff member for its integrity hash.             ║
+ * ║  Timestamps are excluded (set by JPA callbacks after hashing).               ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public final class StaffIntegrity {
+
+    public static final CanonicalSerializer<Staff> SERIALIZER = (staff, out) -> out
+            .longValue(staff.getId())
+            .string(staff.getEmployeeId())
+            .string(staff.getFirstName())
+            .string(staff.getLastName())
+            .string(staff.getEmail())
+            .string(staff.getPhoneNumber())
+            .enumValue(staff.getRole())
+            .enumValue(staff.getSpecialty())
+            .string(staff.getDepartment())
+            .string(staff.getLicenseNumber())
+            .date(staff.getHireDate())
+            .bool(staff.isActive());
+
+    private StaffIntegrity() {
+    }
+
+    public static String hash(Staff staff) {
+        return IntegrityHasher.hash(staff, SERIALIZER);
+    }
+
+    /**
+     * Hash stored before the canonical format (SHA-256 of the Lombok toString()),
+     * only used to verify the rows written back then.
+     */
+    public static String legacyHash(Staff staff) {
+        return IntegrityHasher.legacyHash(staff);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hospital.staff.integrity;
+
+import com.hospital.common.integrity.IntegrityHashInsertListener;
+import com.hospital.staff.model.Staff;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Computes the integrity hash of a new Staff right before its INSERT (id assigned),
+ * so the row is inserted with its hash, without a follow-up UPDATE.
+ */
+@Configuration
+public class StaffIntegrityConfig {
+
+    @Bean
+    public IntegrityHashInsertListener<Staff> integrityHashInsertListener(EntityManagerFactory entityManagerFactory) {
+        return new IntegrityHashInsertListener<>(Staff.class, "integrityHash",
+                StaffIntegrity.SERIALIZER, Staff::setIntegrityHash)
+                .register(entityManagerFactory);
+    }
+}
@@ -29,8 +29,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Staff {
 
+    /**
+     * Unique identifier for the staff member.
+     * WHY SEQUENCE (pooled by 50): the ID is known before the INSERT, so the
+     * integrity hash is stored by a single INSERT and creates can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "staff_seq")
+    @SequenceGenerator(name = "staff_seq", sequenceName = "staff_seq", allocationSize = 50)
     private Long id;
 
     /**
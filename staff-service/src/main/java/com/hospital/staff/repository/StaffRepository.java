@@ -3,13 +3,16 @@ package com.hospital.staff.repository;
 import com.hospital.staff.model.Specialty;
 import com.hospital.staff.model.Staff;
 import com.hospital.staff.model.StaffRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════════╗
@@ -57,16 +60,40 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
      */
     List<Staff> findByDepartmentAndActiveTrue(String department);
 
+    /**
+     * Ids of all staff of a department, deactivated ones included (their past
+     * appointments still belong to the department). Served by the (department, id)
+     * index of V5, not by the partial index on active staff.
+     */
+    @Query("SELECT s.id FROM Staff s WHERE s.department = :department ORDER BY s.id")
+    List<Long> findIdsByDepartment(@Param("department") String department);
+
     /**
      * Checks if employee ID exists.
      */
     boolean existsByEmployeeId(String employeeId);
 
+    /**
+     * Checks if an active staff member has this id (deactivated staff cannot be booked).
+     */
+    boolean existsByIdAndActiveTrue(Long id);
+
+    /**
+     * Returns which of the given ids belong to active staff (one IN query for a batch).
+     */
+    @Query("SELECT s.id FROM Staff s WHERE s.id IN :ids AND s.active = true")
+    Set<Long> findActiveIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Custom query: Find available doctors by specialty.
      * Students: This is a placeholder - implement availability logic.
      */
     @Query("SELECT s FROM Staff s WHERE s.role = 'DOCTOR' AND s.specialty = :specialty AND s.active = true")
     List<Staff> findAvailableDoctorsBySpecialty(@Param("specialty") Specialty specialty);
-}
 
+    /**
+     * Keyset chunk: the next staffs after the given id, in id order.
+     * WHY: Constant cost per chunk for full-table scans (integrity verification).
+     */
+    List<Staff> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
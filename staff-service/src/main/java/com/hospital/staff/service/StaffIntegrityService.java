@@ -0,0 +1,24 @@
+package com.hospital.staff.service;
+
+import com.hospital.common.integrity.IntegrityReport;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                      STAFF INTEGRITY SERVICE INTERFACE                       ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS INTERFACE EXISTS:                                                  ║
+ * ║  Re-verifies every stored staff against its integrity hash and the           ║
+ * ║  latest hash anchored in the blockchain audit trail.                         ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+public interface StaffIntegrityService {
+
+    /**
+     * Scans the whole table in id order, chunk by chunk.
+     *
+     * @param chunkSize   rows loaded and verified per chunk
+     * @param maxReported maximum number of mismatches listed in the report
+     * @return counters for the whole table and the first mismatches
+     */
+    IntegrityReport verifyAll(int chunkSize, int maxReported);
+}
@@ -4,7 +4,9 @@ import com.hospital.staff.dto.StaffDTO;
 import com.hospital.staff.model.Specialty;
 import com.hospital.staff.model.StaffRole;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -73,8 +75,19 @@ public interface StaffService {
     void deactivateStaff(Long id);
 
     /**
-     * Checks if a staff member exists.
+     * Checks if an active staff member exists (deactivated staff cannot be booked).
      */
     boolean existsById(Long id);
+
+    /**
+     * Batch version of {@link #existsById}: every requested id (nulls and
+     * duplicates dropped, request order kept) mapped to whether it is active staff.
+     */
+    Map<Long, Boolean> existsByIds(Collection<Long> ids);
+
+    /**
+     * Ids of the staff of a department, deactivated staff included.
+     */
+    List<Long> getDepartmentStaffIds(String department);
 }
 
@@ -0,0 +1,49 @@
+package com.hospital.staff.service.impl;
+
+import com.hospital.staff.client.AuditTrailClient;
+import com.hospital.staff.integrity.StaffIntegrity;
+import com.hospital.staff.model.Staff;
+import com.hospital.staff.repository.StaffRepository;
+import com.hospital.staff.service.StaffIntegrityService;
+import com.hospital.common.integrity.IntegrityReport;
+import com.hospital.common.integrity.TableIntegrityCheck;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════════╗
+ * ║                         STAFF INTEGRITY SERVICE IMPL                         ║
+ * ╠══════════════════════════════════════════════════════════════════════════════╣
+ * ║  WHY THIS CLASS EXISTS:                                                      ║
+ * ║  Declares how the staff table is read, hashed and looked up on chain;        ║
+ * ║  the scan itself is the shared TableIntegrityCheck.                          ║
+ * ╚══════════════════════════════════════════════════════════════════════════════╝
+ */
+@Service
+public class StaffIntegrityServiceImpl implements StaffIntegrityService {
+
+    /** Audit actions that carry the integrity hash of a staff member. */
+    private static final List<String> HASHED_ACTIONS = List.of(
+            "CREATE_STAFF",
+            "UPDATE_STAFF",
+            "DEACTIVATE_STAFF");
+
+    private final TableIntegrityCheck<Staff> check;
+
+    public StaffIntegrityServiceImpl(StaffRepository staffRepository, AuditTrailClient auditTrailClient) {
+        this.check = new TableIntegrityCheck<>("staff",
+                (afterId, chunkSize) -> staffRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, chunkSize)),
+                Staff::getId,
+                StaffIntegrity.SERIALIZER,
+                Staff::getIntegrityHash,
+                StaffIntegrity::legacyHash,
+                ids -> auditTrailClient.latestHashes(ids, HASHED_ACTIONS));
+    }
+
+    @Override
+    public IntegrityReport verifyAll(int chunkSize, int maxReported) {
+        return check.verifyAll(chunkSize, maxReported);
+    }
+}
@@ -1,10 +1,12 @@
 package com.hospital.staff.service.impl;
 
+import com.hospital.staff.client.AppointmentCacheNotifier;
 import com.hospital.staff.client.AuditClient;
 import com.hospital.staff.dto.StaffDTO;
 import com.hospital.staff.exception.DuplicateStaffException;
 import com.hospital.staff.exception.StaffNotFoundException;
 import com.hospital.staff.mapper.StaffMapper;
+import com.hospital.staff.integrity.StaffIntegrity;
 import com.hospital.staff.model.Specialty;
 import com.hospital.staff.model.Staff;
 import com.hospital.staff.model.StaffRole;
@@ -15,8 +17,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +46,7 @@ public class StaffServiceImpl implements StaffService {
     private final StaffRepository staffRepository;
     private final StaffMapper staffMapper;
     private final AuditClient auditClient;
+    private final AppointmentCacheNotifier appointmentCacheNotifier;
 
     @Override
     public StaffDTO createStaff(StaffDTO staffDTO) {
@@ -52,12 +60,10 @@ public class StaffServiceImpl implements StaffService {
         Staff staff = staffMapper.toEntity(staffDTO);
         staff.setActive(true);
         
-        Staff savedStaff = staffRepository.save(staff);
-        
-        // Compute and store integrity hash (ID is now available)
-        String integrityHash = computeDataHash(savedStaff);
-        savedStaff.setIntegrityHash(integrityHash);
-        savedStaff = staffRepository.save(savedStaff);
+        // The integrity hash is computed right before the INSERT, once the ID is assigned
+        // (StaffIntegrityConfig): the row is written once, hash included
+        Staff savedStaff = staffRepository.saveAndFlush(staff);
+        String integrityHash = savedStaff.getIntegrityHash();
 
         log.info("Staff created with ID: {}", savedStaff.getId());
 
@@ -135,7 +141,7 @@ public class StaffServiceImpl implements StaffService {
         staffMapper.updateEntityFromDTO(staffDTO, existingStaff);
         
         // Compute and store integrity hash
-        String integrityHash = computeDataHash(existingStaff);
+        String integrityHash = StaffIntegrity.hash(existingStaff);
         existingStaff.setIntegrityHash(integrityHash);
 
         Staff updatedStaff = staffRepository.save(existingStaff);
@@ -160,7 +166,7 @@ public class StaffServiceImpl implements StaffService {
         staff.setActive(false);
         
         // Compute and store integrity hash
-        String integrityHash = computeDataHash(staff);
+        String integrityHash = StaffIntegrity.hash(staff);
         staff.setIntegrityHash(integrityHash);
 
         staffRepository.save(staff);
@@ -170,13 +176,31 @@ public class StaffServiceImpl implements StaffService {
             "Staff member deactivated: " + staff.getEmployeeId(),
             integrityHash);
         
+        appointmentCacheNotifier.staffDeactivatedAfterCommit(id);
         log.info("Staff deactivated successfully: {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsById(Long id) {
-        return staffRepository.existsById(id);
+        // A deactivated staff member cannot be booked: only active records "exist"
+        return staffRepository.existsByIdAndActiveTrue(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> existsByIds(Collection<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Set<Long> active = requested.isEmpty() ? Set.of() : staffRepository.findActiveIds(requested);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        requested.forEach(id -> result.put(id, active.contains(id)));
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getDepartmentStaffIds(String department) {
+        return staffRepository.findIdsByDepartment(department);
     }
 
     /**
@@ -187,25 +211,5 @@ public class StaffServiceImpl implements StaffService {
         // TODO: In Subject 2 (Security), extract from Spring SecurityContext
         return "system";
     }
-
-    private String computeDataHash(Object data) {
-        try {
-            String input = data.toString();
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(input.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder(2 * encodedhash.length);
-            for (int i = 0; i < encodedhash.length; i++) {
-                String hex = Integer.toHexString(0xff & encodedhash[i]);
-                if(hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            log.warn("Failed to compute data hash", e);
-            return "HASH_ERROR";
-        }
-    }
 }
 
@@ -0,0 +1,38 @@
+-- Baseline: the schema as Hibernate (ddl-auto: update) created it.
+-- Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and skip this script; IF NOT EXISTS
+-- keeps it harmless anyway. From now on every schema change is a new V<n> script.
+
+CREATE TABLE IF NOT EXISTS staff (
+    id             bigint        NOT NULL PRIMARY KEY,
+    employee_id    varchar(255)  NOT NULL UNIQUE,
+    first_name     varchar(255)  NOT NULL,
+    last_name      varchar(255)  NOT NULL,
+    email          varchar(255)  NOT NULL UNIQUE,
+    phone_number   varchar(255),
+    role           varchar(255)  NOT NULL,
+    specialty      varchar(255),
+    department     varchar(255),
+    license_number varchar(255),
+    hire_date      date,
+    active         boolean       NOT NULL,
+    created_at     timestamp(6),
+    updated_at     timestamp(6),
+    integrity_hash varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS audit_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         varchar(255)  NOT NULL,
+    action          varchar(255)  NOT NULL,
+    resource_id     varchar(255)  NOT NULL,
+    details         varchar(1000),
+    data_hash       varchar(255),
+    created_at      timestamp(6)  NOT NULL,
+    attempts        integer       NOT NULL,
+    next_attempt_at timestamp(6)  NOT NULL,
+    last_error      varchar(500)
+);
+
+-- Outbox shipper: WHERE next_attempt_at <= now ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_audit_outbox_next_attempt ON audit_outbox (next_attempt_at, id);
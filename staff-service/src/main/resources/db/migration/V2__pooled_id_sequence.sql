@@ -0,0 +1,7 @@
+-- Pooled id sequence of Staff (@SequenceGenerator allocationSize = 50).
+-- INCREMENT BY must equal allocationSize (checked by ddl-auto: validate).
+CREATE SEQUENCE IF NOT EXISTS staff_seq START WITH 1 INCREMENT BY 50;
+
+-- Aligns the sequence with the rows created while the id column was IDENTITY.
+-- Never moves the sequence backwards.
+SELECT setval('staff_seq', GREATEST((SELECT last_value FROM staff_seq), (SELECT COALESCE(MAX(id), 1) FROM staff)));
@@ -0,0 +1,15 @@
+-- Indexes matched to the StaffRepository lookups.
+-- Partial on active staff: every hot lookup filters "active = true",
+-- so inactive rows stay out of the indexes.
+
+-- findByRoleAndActiveTrue, findAvailableDoctorsBySpecialty (role = 'DOCTOR' AND specialty = ?)
+CREATE INDEX IF NOT EXISTS idx_staff_role_specialty_active
+    ON staff (role, specialty) WHERE active;
+
+-- findBySpecialtyAndActiveTrue (specialty alone: the index above needs the role first)
+CREATE INDEX IF NOT EXISTS idx_staff_specialty_active
+    ON staff (specialty) WHERE active;
+
+-- findByDepartmentAndActiveTrue
+CREATE INDEX IF NOT EXISTS idx_staff_department_active
+    ON staff (department) WHERE active;
@@ -0,0 +1,9 @@
+-- Dead letter state of the audit outbox (AuditOutboxShipper).
+-- An event the Audit Service rejects (4xx), or that still fails after
+-- audit.outbox.max-attempts, is parked as DEAD instead of being retried forever.
+-- DEAD rows stay for inspection; setting status back to PENDING replays them.
+ALTER TABLE audit_outbox ADD COLUMN IF NOT EXISTS status varchar(16) NOT NULL DEFAULT 'PENDING';
+
+-- Only PENDING rows are polled: parked rows must not be read again on every run
+DROP INDEX IF EXISTS idx_audit_outbox_next_attempt;
+CREATE INDEX IF NOT EXISTS idx_audit_outbox_next_attempt ON audit_outbox (next_attempt_at, id) WHERE status = 'PENDING';
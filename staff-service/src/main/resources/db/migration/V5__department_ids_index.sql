@@ -0,0 +1,5 @@
+-- findIdsByDepartment (agenda export of a department): deactivated staff included,
+-- so the partial idx_staff_department_active of V3 cannot serve it.
+-- (department, id) also returns the ids in order without a sort.
+CREATE INDEX IF NOT EXISTS idx_staff_department_id
+    ON staff (department, id);
@@ -0,0 +1,128 @@
+package com.hospital.staff.repository;
+
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.QueryPlans;
+import com.hospital.common.test.StatementRecorder;
+import com.hospital.common.test.TestDatabaseFixture;
+import com.hospital.staff.model.Specialty;
+import com.hospital.staff.model.Staff;
+import com.hospital.staff.model.StaffRole;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The StaffRepository lookups must be served by the indexes of the Flyway
+ * migrations (V3: partial indexes on active staff). Each test calls the
+ * repository method against an embedded PostgreSQL migrated with V1..Vn and
+ * filled with enough rows for the planner to prefer an index, then EXPLAINs
+ * the SQL it actually sent (same bound values) and rejects any sequential scan.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StaffRepositoryQueryPlanTest {
+
+    private static final int STAFF = 100_000;
+    private static final int DEPARTMENTS = 40;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void findByRoleAndActiveTrueUsesRoleSpecialtyIndex() throws SQLException {
+        staffRepository.findByRoleAndActiveTrue(StaffRole.PHARMACIST);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findAvailableDoctorsBySpecialtyUsesRoleSpecialtyIndex() throws SQLException {
+        staffRepository.findAvailableDoctorsBySpecialty(Specialty.CARDIOLOGY);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findBySpecialtyAndActiveTrueUsesSpecialtyIndex() throws SQLException {
+        staffRepository.findBySpecialtyAndActiveTrue(Specialty.NEUROLOGY);
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findByDepartmentAndActiveTrueUsesDepartmentIndex() throws SQLException {
+        staffRepository.findByDepartmentAndActiveTrue("Department 7");
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findIdsByDepartmentUsesDepartmentIndex() throws SQLException {
+        staffRepository.findIdsByDepartment("Department 7");
+
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void findActiveIdsUsesPrimaryKey() throws SQLException {
+        staffRepository.findActiveIds(Set.of(17L, 1_234L, 50_000L));
+
+        assertNoSequentialScan();
+    }
+
+    private void assertNoSequentialScan() throws SQLException {
+        QueryPlans.assertNoSequentialScan(recorder, postgres);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Staff.class)
+    @EnableJpaRepositories(basePackageClasses = StaffRepository.class)
+    @Import(EmbeddedPostgresTestConfiguration.class)
+    static class QueryPlanConfig {
+
+        /**
+         * Doctors and nurses are most of the staff; only doctors have a specialty.
+         */
+        @Bean
+        TestDatabaseFixture staff() {
+            return () -> List.of("INSERT INTO staff (id, employee_id, first_name, last_name, email, role,"
+                    + " specialty, department, active, created_at, updated_at)"
+                    + " SELECT i, 'EMP' || lpad(i::text, 7, '0'), 'First' || (i % 5000), 'Last' || (i % 20000),"
+                    + " 'staff' || i || '@hospital.test',"
+                    + " CASE WHEN i % 10 < 4 THEN 'DOCTOR' WHEN i % 10 < 8 THEN 'NURSE'"
+                    + " ELSE (ARRAY['ADMIN','RECEPTIONIST','LAB_TECHNICIAN','PHARMACIST'])[1 + i % 4] END,"
+                    + " CASE WHEN i % 10 < 4 THEN (ARRAY['GENERAL_MEDICINE','CARDIOLOGY','DERMATOLOGY','EMERGENCY_MEDICINE',"
+                    + "'GASTROENTEROLOGY','NEUROLOGY','ONCOLOGY','OPHTHALMOLOGY','ORTHOPEDICS','PEDIATRICS','PSYCHIATRY',"
+                    + "'RADIOLOGY','SURGERY'])[1 + i % 13] END,"
+                    + " 'Department ' || (i % " + DEPARTMENTS + "), i % 20 <> 0,"
+                    + " timestamp '2026-01-01', timestamp '2026-01-01'"
+                    + " FROM generate_series(1, " + STAFF + ") i");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hospital.staff.repository;
+
+import com.hospital.common.test.PreFlywaySchemaTestConfiguration;
+import com.hospital.staff.model.Staff;
+import com.hospital.staff.model.StaffRole;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrade of a database created before the Flyway migrations (ddl-auto: update,
+ * see db/pre-flyway-schema.sql): with the service's spring.flyway settings,
+ * every script from V1 must run on it (their IF NOT EXISTS guards skip what
+ * already exists) and the result must pass Hibernate's schema validation.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StaffSchemaUpgradeTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Test
+    void runsEveryMigrationOnADatabaseCreatedBeforeFlyway() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(applied[0].getType().isBaseline()).isTrue();
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("0");
+        assertThat(applied[1].getVersion().getVersion()).isEqualTo("1");
+        assertThat(Arrays.copyOfRange(applied, 1, applied.length))
+                .allMatch(migration -> migration.getState() == MigrationState.SUCCESS);
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void keepsExistingRowsAndNumbersNewOnesAfterThem() {
+        assertThat(staffRepository.count()).isEqualTo(3);
+
+        Staff saved = staffRepository.saveAndFlush(Staff.builder()
+                .employeeId("EMP0000004")
+                .firstName("Hugo")
+                .lastName("Thomas")
+                .email("hugo.thomas@hospital.test")
+                .role(StaffRole.NURSE)
+                .department("Neurology")
+                .active(true)
+                .build());
+
+        assertThat(saved.getId()).isGreaterThan(3L);
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Staff.class)
+    @EnableJpaRepositories(basePackageClasses = StaffRepository.class)
+    @Import(PreFlywaySchemaTestConfiguration.class)
+    static class UpgradeConfig {
+    }
+}
@@ -0,0 +1,99 @@
+package com.hospital.staff.service.impl;
+
+import com.hospital.common.test.EmbeddedPostgresTestConfiguration;
+import com.hospital.common.test.StatementRecorder;
+import com.hospital.staff.client.AppointmentCacheNotifier;
+import com.hospital.staff.client.AuditClient;
+import com.hospital.staff.dto.StaffDTO;
+import com.hospital.staff.integrity.StaffIntegrity;
+import com.hospital.staff.integrity.StaffIntegrityConfig;
+import com.hospital.staff.mapper.StaffMapperImpl;
+import com.hospital.staff.model.Specialty;
+import com.hospital.staff.model.Staff;
+import com.hospital.staff.model.StaffRole;
+import com.hospital.staff.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A new staff member is written by a single INSERT carrying its integrity
+ * hash: no UPDATE of the row just inserted, and the hash sent to the audit
+ * trail is the one stored.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StaffServiceImplInsertTest {
+
+    @Autowired
+    private StaffServiceImpl staffService;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private AuditClient auditClient;
+
+    @MockBean
+    private AppointmentCacheNotifier appointmentCacheNotifier;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        recorder.clear();
+    }
+
+    @Test
+    void createStaffInsertsTheRowOnceWithItsHash() {
+        StaffDTO created = staffService.createStaff(StaffDTO.builder()
+                .employeeId("EMP0001")
+                .firstName("Claire")
+                .lastName("Martin")
+                .email("claire.martin@example.org")
+                .role(StaffRole.DOCTOR)
+                .specialty(Specialty.CARDIOLOGY)
+                .department("Cardiology")
+                .hireDate(LocalDate.of(2020, 9, 1))
+                .build());
+        // What the commit would send
+        entityManager.flush();
+
+        assertThat(recorder.recorded("insert")).hasSize(1)
+                .allMatch(statement -> statement.sql().contains("staff"));
+        assertThat(recorder.recorded("update")).isEmpty();
+
+        entityManager.clear();
+        Staff stored = entityManager.find(Staff.class, created.getId());
+        assertThat(stored.getIntegrityHash()).isNotNull().isEqualTo(StaffIntegrity.hash(stored));
+        verify(auditClient).logAction(
+                anyString(), eq("CREATE_STAFF"), eq(created.getId().toString()), anyString(), eq(stored.getIntegrityHash()));
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Staff.class)
+    @EnableJpaRepositories(basePackageClasses = StaffRepository.class)
+    @Import({EmbeddedPostgresTestConfiguration.class, StaffIntegrityConfig.class,
+            StaffServiceImpl.class, StaffMapperImpl.class})
+    static class InsertConfig {
+    }
+}
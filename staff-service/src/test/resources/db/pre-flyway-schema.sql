@@ -0,0 +1,27 @@
+-- Schema of a database created before the Flyway migrations: what Hibernate
+-- (ddl-auto: update) generated for the entities of the baseline, on PostgreSQL.
+-- No audit_outbox table, bigserial ids. Used by the Flyway upgrade test.
+
+create table staff (
+    active boolean not null,
+    hire_date date,
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    department varchar(255),
+    email varchar(255) not null unique,
+    employee_id varchar(255) not null unique,
+    first_name varchar(255) not null,
+    integrity_hash varchar(255),
+    last_name varchar(255) not null,
+    license_number varchar(255),
+    phone_number varchar(255),
+    role varchar(255) not null check (role in ('DOCTOR','NURSE','ADMIN','RECEPTIONIST','LAB_TECHNICIAN','PHARMACIST','RADIOLOGIST')),
+    specialty varchar(255) check (specialty in ('GENERAL_MEDICINE','CARDIOLOGY','DERMATOLOGY','EMERGENCY_MEDICINE','GASTROENTEROLOGY','NEUROLOGY','ONCOLOGY','OPHTHALMOLOGY','ORTHOPEDICS','PEDIATRICS','PSYCHIATRY','RADIOLOGY','SURGERY','UROLOGY')),
+    primary key (id)
+);
+
+insert into staff (employee_id, first_name, last_name, email, role, specialty, department, active, created_at, updated_at)
+values ('EMP0000001', 'Alice', 'Bernard', 'alice.bernard@hospital.test', 'DOCTOR', 'CARDIOLOGY', 'Cardiology', true, now(), now()),
+       ('EMP0000002', 'Marc', 'Leroy', 'marc.leroy@hospital.test', 'NURSE', null, 'Cardiology', true, now(), now()),
+       ('EMP0000003', 'Sophie', 'Moreau', 'sophie.moreau@hospital.test', 'DOCTOR', 'NEUROLOGY', 'Neurology', false, now(), now());